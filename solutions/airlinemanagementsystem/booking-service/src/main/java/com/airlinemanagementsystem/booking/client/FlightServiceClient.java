@@ -1,22 +1,37 @@
 package com.airlinemanagementsystem.booking.client;
 
+import com.airlinemanagementsystem.booking.dto.SeatBatchRequest;
 import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestBody;
 
 @FeignClient(name = "flight-service", url = "${FLIGHT_SERVICE_URL:http://localhost:8081}")
 public interface FlightServiceClient {
-    @PostMapping("/api/v1/seats/lock")
-    Boolean lockSeat(@RequestParam("flightId") Long flightId,
-                     @RequestParam("seatNumber") String seatNumber,
-                     @RequestParam("userId") String userId);
+    /**
+     * Locks all seats of a booking atomically (one HTTP hop, one Redis round trip).
+     * Fails with 409 and locks nothing if any seat is already held.
+     */
+    @PostMapping("/api/v1/seats/lock/batch")
+    Boolean lockSeats(@RequestBody SeatBatchRequest request);
 
-    @PostMapping("/api/v1/seats/confirm")
-    void confirmSeat(@RequestParam("flightId") Long flightId,
-                     @RequestParam("seatNumber") String seatNumber,
-                     @RequestParam("userId") String userId);
+    /**
+     * Heartbeat for a booking still in checkout: extends every seat lock or none.
+     * Fails with 409 if any lock expired or changed hands.
+     */
+    @PostMapping("/api/v1/seats/extend/batch")
+    Boolean extendSeatLocks(@RequestBody SeatBatchRequest request);
 
-    @PostMapping("/api/v1/flights/{flightId}/seats/{seatNumber}/unlock")
-    boolean unlockSeat(@PathVariable Long flightId, @PathVariable String seatNumber);
+    /**
+     * Confirms all seats of a booking in one transaction and releases their locks; idempotent.
+     * Returns how many seats the user now holds as booked. Fails with 409, booking nothing, if the
+     * user no longer holds a seat's lock or another user booked it.
+     */
+    @PostMapping("/api/v1/seats/confirm/batch")
+    Integer confirmSeats(@RequestBody SeatBatchRequest request);
+
+    /**
+     * Releases every seat of a booking the user still holds; idempotent. Returns how many were released.
+     */
+    @PostMapping("/api/v1/seats/unlock/batch")
+    Integer unlockSeats(@RequestBody SeatBatchRequest request);
 }
\ No newline at end of file
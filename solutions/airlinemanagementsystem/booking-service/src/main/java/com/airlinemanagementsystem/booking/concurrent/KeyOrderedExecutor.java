@@ -0,0 +1,65 @@
+package com.airlinemanagementsystem.booking.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on a fixed set of single-threaded lanes, picking the lane from the task key.
+ * Tasks with the same key run one after another in submission order; different keys spread
+ * over the lanes and run in parallel.
+ */
+@Slf4j
+public class KeyOrderedExecutor {
+
+    private final List<ExecutorService> lanes;
+
+    public KeyOrderedExecutor(String name, int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount must be at least 1");
+        }
+
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = name + "-" + i;
+            lanes.add(Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+    }
+
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        return CompletableFuture.runAsync(task, laneFor(key));
+    }
+
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    public void shutdown() {
+        lanes.forEach(ExecutorService::shutdown);
+        for (ExecutorService lane : lanes) {
+            try {
+                if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                lane.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Key-ordered executor stopped ({} lanes)", lanes.size());
+    }
+
+    private ExecutorService laneFor(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return lanes.get(Math.floorMod(hash, lanes.size()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.airlinemanagementsystem.booking.concurrent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timer wheel: deadlines are bucketed into {@code wheelSize} slots of {@code tickMillis}.
+ * Scheduling and cancelling are O(1); each {@link #advance} only inspects the slots the clock
+ * moved past and returns every key due, so thousands of timeouts fire as one batch instead of
+ * one scheduled task each. Deadlines further out than one revolution stay in their slot until
+ * a later pass finds them due.
+ */
+public class TimerWheel<K> {
+
+    private final long tickMillis;
+    private final List<Map<K, Long>> slots;
+    private final Map<K, Integer> slotOfKey = new HashMap<>();
+    // Last tick the clock has fully passed; the current tick's slot stays open until then
+    private long lastTick;
+
+    public TimerWheel(int wheelSize, long tickMillis, long nowMillis) {
+        if (wheelSize < 1 || tickMillis < 1) {
+            throw new IllegalArgumentException("wheelSize and tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashMap<>());
+        }
+        this.lastTick = nowMillis / tickMillis - 1;
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(deadlineMillis / tickMillis, lastTick + 1);
+        int slot = (int) (tick % slots.size());
+        slots.get(slot).put(key, deadlineMillis);
+        slotOfKey.put(key, slot);
+    }
+
+    public synchronized void cancel(K key) {
+        Integer slot = slotOfKey.remove(key);
+        if (slot != null) {
+            slots.get(slot).remove(key);
+        }
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis} and removes and returns every key whose deadline has passed.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long currentTick = nowMillis / tickMillis;
+        List<K> due = new ArrayList<>();
+
+        // After a long pause one revolution covers every slot
+        long lastToVisit = Math.min(currentTick, lastTick + slots.size());
+        for (long tick = lastTick + 1; tick <= lastToVisit; tick++) {
+            Iterator<Map.Entry<K, Long>> entries = slots.get((int) (tick % slots.size())).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<K, Long> entry = entries.next();
+                if (entry.getValue() <= nowMillis) {
+                    due.add(entry.getKey());
+                    slotOfKey.remove(entry.getKey());
+                    entries.remove();
+                }
+            }
+        }
+
+        // The current tick is revisited next time: its later deadlines are not due yet
+        lastTick = Math.max(lastTick, currentTick - 1);
+        return due;
+    }
+
+    public synchronized int size() {
+        return slotOfKey.size();
+    }
+}
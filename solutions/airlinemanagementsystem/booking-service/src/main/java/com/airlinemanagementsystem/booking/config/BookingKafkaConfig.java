@@ -1,20 +1,57 @@
 package com.airlinemanagementsystem.booking.config;
 
+import com.airlinemanagementsystem.booking.concurrent.KeyOrderedExecutor;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 
 @Configuration
 public class BookingKafkaConfig {
 
     public static final String BOOKING_REQ_TOPIC = "booking-request-topic";
 
+    // KafkaAdmin adds partitions to an existing topic when this grows, which moves userId keys to
+    // other partitions and breaks per-user order for records in flight. Raise it deliberately:
+    // pause intake, let the consumers drain the topic, then deploy the new count. It can never shrink.
+    @Value("${booking-service.kafka.request-partitions:3}")
+    private int requestPartitions;
+
+    @Value("${booking-service.kafka.request-consumer-concurrency:3}")
+    private int requestConsumerConcurrency;
+
+    @Value("${booking-service.kafka.request-worker-lanes:16}")
+    private int requestWorkerLanes;
+
     @Bean
     public NewTopic bookingRequestTopic() {
         return TopicBuilder.name(BOOKING_REQ_TOPIC)
-                .partitions(3)
+                .partitions(requestPartitions)
                 .replicas(1)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch listener factory for booking intake: one consumer thread per
+     * {@code request-consumer-concurrency}, each handing its poll to the key-ordered worker lanes.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> bookingRequestListenerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(requestConsumerConcurrency);
+        return factory;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public KeyOrderedExecutor bookingRequestExecutor() {
+        return new KeyOrderedExecutor("booking-worker", requestWorkerLanes);
+    }
+}
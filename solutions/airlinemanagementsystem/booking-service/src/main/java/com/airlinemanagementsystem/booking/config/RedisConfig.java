@@ -0,0 +1,23 @@
+package com.airlinemanagementsystem.booking.config;
+
+import com.airlinemanagementsystem.booking.service.BookingStatusProjection;
+import com.airlinemanagementsystem.booking.service.BookingStatusStream;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    // One subscription per instance fans booking status changes out to the SSE clients connected here
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        BookingStatusStream bookingStatusStream) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(bookingStatusStream, new ChannelTopic(BookingStatusProjection.STATUS_CHANNEL));
+        return container;
+    }
+}
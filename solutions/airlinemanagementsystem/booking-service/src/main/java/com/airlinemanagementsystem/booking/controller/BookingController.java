@@ -1,17 +1,24 @@
 package com.airlinemanagementsystem.booking.controller;
 
 import com.airlinemanagementsystem.booking.dto.BookingRequest;
-import com.airlinemanagementsystem.booking.entity.Booking;
+import com.airlinemanagementsystem.booking.dto.BookingRequestStatus;
 import com.airlinemanagementsystem.booking.service.BookingProducer;
 import com.airlinemanagementsystem.booking.service.BookingService;
+import com.airlinemanagementsystem.booking.service.BookingStatusProjection;
+import com.airlinemanagementsystem.booking.service.BookingStatusStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @RestController
@@ -22,10 +29,12 @@ public class BookingController {
 
     private final BookingProducer bookingProducer;
     private final BookingService bookingService;
+    private final BookingStatusProjection bookingStatusProjection;
+    private final BookingStatusStream bookingStatusStream;
 
-    @Operation(summary = "Submit a booking request", description = "Queues the request for processing. Returns immediately.")
+    @Operation(summary = "Submit a booking request", description = "Queues the request for processing. Returns immediately with a requestId to poll.")
     @PostMapping
-    public ResponseEntity<String> createBooking(@RequestBody BookingRequest request, @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request, @AuthenticationPrincipal Jwt jwt) {
         if (request.getPassengers() == null || request.getPassengers().isEmpty()) {
             return ResponseEntity.badRequest().body("Passenger list cannot be empty.");
         }
@@ -33,24 +42,48 @@ public class BookingController {
         String secureUserId = jwt.getSubject();
 
         request.setUserId(secureUserId);
+        request.setRequestId(UUID.randomUUID().toString());
 
-        log.info("Received booking request for User ID: {}", secureUserId);
+        log.info("Received booking request {} for User ID: {}", request.getRequestId(), secureUserId);
 
+        // Recorded before queueing so a poll can never see an unknown request id
+        bookingStatusProjection.onQueued(request.getRequestId(), secureUserId);
         bookingProducer.queueBookingRequest(request);
-        return ResponseEntity.accepted()
-                .body("Booking request received! We are processing it and will notify you shortly.");
+        return ResponseEntity.accepted().body(Map.of(
+                "requestId", request.getRequestId(),
+                "message", "Booking request received! We are processing it and will notify you shortly."));
+    }
+
+    @Operation(summary = "Check a booking request", description = "Status of one submitted request, served from the Redis read model.")
+    @GetMapping("/requests/{requestId}")
+    public ResponseEntity<BookingRequestStatus> getRequestStatus(@PathVariable String requestId, @AuthenticationPrincipal Jwt jwt) {
+        return bookingService.getRequestStatus(requestId, jwt.getSubject())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+            summary = "Subscribe to a booking request",
+            description = "Server-Sent Events stream of 'status' events (QUEUED, PENDING, CONFIRMED, CANCELLED, ...) for one request. Starts with the current status and closes after a final one; replaces polling."
+    )
+    @GetMapping(value = "/requests/{requestId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRequestStatus(@PathVariable String requestId, @AuthenticationPrincipal Jwt jwt) {
+        String secureUserId = jwt.getSubject();
+        if (bookingService.getRequestStatus(requestId, secureUserId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(bookingStatusStream.subscribe(requestId,
+                () -> bookingService.getRequestStatus(requestId, secureUserId)));
     }
 
     @Operation(summary = "Check booking status", description = "Frontend polls this to update the UI")
     @GetMapping("/status")
     public ResponseEntity<?> checkLatestBookingStatus(@AuthenticationPrincipal Jwt jwt) {
         String secureUserId = jwt.getSubject();
-        Booking latest = bookingService.getLatestBooking(secureUserId);
-
-        if (latest == null) {
-            return ResponseEntity.ok("NO_BOOKING_FOUND");
-        }
 
-        return ResponseEntity.ok(latest.getStatus());
+        return bookingService.getLatestRequestStatus(secureUserId)
+                .<ResponseEntity<?>>map(latest -> ResponseEntity.ok(latest.getState()))
+                .orElseGet(() -> ResponseEntity.ok("NO_BOOKING_FOUND"));
     }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 public class BookingRequest {
+    private String requestId; // Correlation id handed back by POST /api/v1/bookings
     private Long flightId;
     private String userId;
     private List<PassengerDTO> passengers;
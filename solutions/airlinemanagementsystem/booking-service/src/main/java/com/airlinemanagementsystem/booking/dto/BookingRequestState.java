@@ -0,0 +1,14 @@
+package com.airlinemanagementsystem.booking.dto;
+
+/**
+ * Lifecycle of a submitted booking request as seen by the client: QUEUED until the
+ * consumer picks it up, then the booking status, or FAILED if no booking was created.
+ */
+public enum BookingRequestState {
+    QUEUED,
+    PENDING,
+    CONFIRMED,
+    CANCELLED,
+    EXPIRED,
+    FAILED
+}
@@ -0,0 +1,24 @@
+package com.airlinemanagementsystem.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingRequestStatus {
+    private String requestId;
+    private String userId;
+    private BookingRequestState state;
+    private Long bookingId;
+    private String bookingReference;
+    private String reason;
+    private Instant updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.airlinemanagementsystem.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatBatchRequest {
+    private Long flightId;
+    private String userId;
+    private List<String> seatNumbers;
+}
@@ -17,7 +17,9 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_booking_user_date", columnList = "user_id, booking_date")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +28,9 @@ public class Booking {
     @Column(name = "booking_reference", unique = true, nullable = false, length = 50)
     private String bookingReference;
 
+    @Column(name = "request_id", unique = true, length = 36)
+    private String requestId;
+
     @NotNull(message = "Flight ID is required")
     private Long flightId;
 
@@ -0,0 +1,73 @@
+package com.airlinemanagementsystem.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Durable state of one booking saga. It carries everything compensation needs (flight, user
+ * and seats), so the workers never load the booking graph.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_sagas", indexes = {
+        @Index(name = "idx_saga_state_expiry", columnList = "state, expires_at"),
+        @Index(name = "idx_saga_state_attempt", columnList = "state, next_attempt_at")
+})
+public class BookingSaga {
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Version
+    private Integer version;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    // Comma separated; seat numbers never contain commas
+    @Column(name = "seat_numbers", nullable = false, length = 1000)
+    private String seatNumbers;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private SagaState state;
+
+    // Payment deadline while AWAITING_PAYMENT
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Payment was taken but the booking will not be confirmed; cleared once the refund is requested
+    @Column(name = "refund_due")
+    private boolean refundDue;
+
+    @Column(name = "refund_requested_at")
+    private Instant refundRequestedAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    public List<String> seatNumberList() {
+        return Arrays.asList(seatNumbers.split(","));
+    }
+}
@@ -0,0 +1,39 @@
+package com.airlinemanagementsystem.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Append-only log of saga steps, for auditing and for working out where a saga stopped.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_saga_steps", indexes = {
+        @Index(name = "idx_saga_step_booking", columnList = "booking_id")
+})
+public class BookingSagaStep {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private SagaStep step;
+
+    @Column(length = 500)
+    private String detail;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,11 @@
+package com.airlinemanagementsystem.booking.entity;
+
+public enum SagaState {
+    AWAITING_PAYMENT,
+    CONFIRMING,
+    COMPLETED,
+    COMPENSATING,        // Seats still to be released; picked up by the compensation worker
+    REFUNDING,           // Seats released; the refund of a payment taken is still to be requested
+    COMPENSATED,
+    COMPENSATION_FAILED  // Gave up after max attempts; locks fall back to their Redis TTL
+}
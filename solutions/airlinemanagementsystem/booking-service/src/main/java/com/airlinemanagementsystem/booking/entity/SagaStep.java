@@ -0,0 +1,16 @@
+package com.airlinemanagementsystem.booking.entity;
+
+public enum SagaStep {
+    SEATS_LOCKED,
+    PAYMENT_REQUESTED,
+    PAYMENT_SUCCEEDED,
+    PAYMENT_FAILED,
+    SEATS_CONFIRMED,
+    CONFIRMATION_FAILED,
+    TIMED_OUT,
+    LOCKS_LOST,
+    SEATS_RELEASED,
+    RELEASE_FAILED,
+    REFUND_REQUESTED,
+    REFUND_FAILED
+}
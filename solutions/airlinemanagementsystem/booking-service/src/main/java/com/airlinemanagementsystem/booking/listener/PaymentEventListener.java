@@ -3,10 +3,15 @@ package com.airlinemanagementsystem.booking.listener;
 import com.airlinemanagementsystem.booking.client.FlightServiceClient;
 import com.airlinemanagementsystem.booking.dto.BookingPlacedEvent;
 import com.airlinemanagementsystem.booking.dto.PaymentEventDto;
+import com.airlinemanagementsystem.booking.dto.SeatBatchRequest;
 import com.airlinemanagementsystem.booking.entity.Booking;
 import com.airlinemanagementsystem.booking.entity.BookingStatus;
+import com.airlinemanagementsystem.booking.entity.Passenger;
+import com.airlinemanagementsystem.booking.entity.SagaStep;
 import com.airlinemanagementsystem.booking.repository.BookingRepository;
-import com.airlinemanagementsystem.booking.service.EmailService;
+import com.airlinemanagementsystem.booking.service.BookingSagaOrchestrator;
+import com.airlinemanagementsystem.booking.service.BookingStatusProjection;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -14,6 +19,8 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -22,6 +29,8 @@ public class PaymentEventListener {
     private final BookingRepository bookingRepository;
     private final FlightServiceClient flightServiceClient;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final BookingStatusProjection bookingStatusProjection;
+    private final BookingSagaOrchestrator bookingSagaOrchestrator;
 
     @KafkaListener(topics = "payment-events", groupId = "booking-payment-group")
     @Transactional
@@ -31,16 +40,39 @@ public class PaymentEventListener {
         Booking booking = bookingRepository.findById(event.getBookingId()).orElse(null);
         if (booking == null) return;
 
-        if (booking.getStatus() == BookingStatus.CONFIRMED) return;
+        boolean paid = "SUCCESS".equals(event.getStatus());
+
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            // Money taken for a booking that expired or failed first must go back to the customer
+            if (paid && booking.getStatus() != BookingStatus.CONFIRMED) {
+                log.warn("Payment succeeded for Booking {} in status {}, refunding", booking.getBookingId(), booking.getStatus());
+                bookingSagaOrchestrator.refundLatePayment(booking.getBookingId());
+            } else {
+                log.warn("Ignoring payment event for Booking {} in status {}", booking.getBookingId(), booking.getStatus());
+            }
+            return;
+        }
+
+        if (paid) {
+            if (!bookingSagaOrchestrator.beginConfirmation(booking.getBookingId())) {
+                bookingSagaOrchestrator.refundLatePayment(booking.getBookingId());
+                return;
+            }
 
-        if ("SUCCESS".equals(event.getStatus())) {
             try {
-                booking.getPassengers().forEach(p ->
-                        flightServiceClient.confirmSeat(booking.getFlightId(), p.getSeatNumber(), booking.getUserId())
-                );
+                List<String> seatNumbers = booking.getPassengers().stream().map(Passenger::getSeatNumber).distinct().toList();
+                Integer confirmed = flightServiceClient.confirmSeats(new SeatBatchRequest(booking.getFlightId(), booking.getUserId(), seatNumbers));
+                if (confirmed == null || confirmed != seatNumbers.size()) {
+                    log.error("Only {} of {} seats confirmed for Booking {}", confirmed, seatNumbers.size(), booking.getBookingId());
+                    handleSagaCompensation(booking, SagaStep.CONFIRMATION_FAILED,
+                            "Only " + confirmed + " of " + seatNumbers.size() + " seats confirmed");
+                    return;
+                }
 
                 booking.setStatus(BookingStatus.CONFIRMED);
                 bookingRepository.save(booking);
+                bookingStatusProjection.onBookingChanged(booking);
+                bookingSagaOrchestrator.complete(booking.getBookingId());
 
                 BookingPlacedEvent notificationEvent = new BookingPlacedEvent(
                         booking.getBookingReference(),
@@ -55,26 +87,26 @@ public class PaymentEventListener {
                 kafkaTemplate.send("booking-events", notificationEvent);
                 log.info("✅ Booking Confirmed. Notification Sent.");
 
+            } catch (FeignException.Conflict e) {
+                log.warn("Seats of Booking {} are no longer held by its user, refunding", booking.getBookingId());
+                handleSagaCompensation(booking, SagaStep.CONFIRMATION_FAILED, "Seats no longer held");
             } catch (Exception e) {
                 log.error("Confirmation Failed. Rolling back! Critical Reason: {}", e.getMessage(), e);
-                handleSagaCompensation(booking);
+                handleSagaCompensation(booking, SagaStep.CONFIRMATION_FAILED, e.getMessage());
             }
         } else {
-            handleSagaCompensation(booking);
+            handleSagaCompensation(booking, SagaStep.PAYMENT_FAILED, event.getStatus());
         }
     }
 
-    private void handleSagaCompensation(Booking booking) {
+    // Seats are released (and a payment already taken refunded) by the saga's compensation worker,
+    // with retries, once this commits
+    private void handleSagaCompensation(Booking booking, SagaStep cause, String reason) {
         log.warn("💰 Payment Failed/Compensating for Booking {}", booking.getBookingId());
-        booking.getPassengers().forEach(p -> {
-            try {
-                flightServiceClient.unlockSeat(booking.getFlightId(), p.getSeatNumber());
-            } catch (Exception e) {
-                log.error("Failed to unlock seat {}", p.getSeatNumber());
-            }
-        });
+        bookingSagaOrchestrator.compensate(booking.getBookingId(), cause, reason);
 
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        bookingStatusProjection.onBookingChanged(booking);
     }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.airlinemanagementsystem.booking.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     /**
@@ -12,4 +14,6 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @return The latest booking entity, or null if none found.
      */
     Booking findTopByUserIdOrderByBookingDateDesc(String userId);
+
+    Optional<Booking> findByRequestId(String requestId);
 }
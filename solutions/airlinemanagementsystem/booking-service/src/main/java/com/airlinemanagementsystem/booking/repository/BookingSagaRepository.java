@@ -0,0 +1,43 @@
+package com.airlinemanagementsystem.booking.repository;
+
+import com.airlinemanagementsystem.booking.entity.BookingSaga;
+import com.airlinemanagementsystem.booking.entity.SagaState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingSagaRepository extends JpaRepository<BookingSaga, Long> {
+
+    @Query("SELECT s.bookingId FROM BookingSaga s WHERE s.state = :state AND s.expiresAt <= :now ORDER BY s.expiresAt")
+    List<Long> findOverdueIds(@Param("state") SagaState state, @Param("now") Instant now, Limit limit);
+
+    /**
+     * Keyset page of sagas in {@code state}, ordered by booking id.
+     */
+    @Query("SELECT s FROM BookingSaga s WHERE s.state = :state AND s.bookingId > :afterId ORDER BY s.bookingId")
+    List<BookingSaga> findByStateAfter(@Param("state") SagaState state, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Row-locks the given sagas that are still in {@code state} and past their deadline, so
+     * instances expiring the same saga concurrently transition it only once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookingSaga s WHERE s.bookingId IN :ids AND s.state = :state AND s.expiresAt <= :now")
+    List<BookingSaga> lockOverdue(@Param("ids") Collection<Long> ids, @Param("state") SagaState state, @Param("now") Instant now);
+
+    /**
+     * Claims due compensations; rows locked by another instance are skipped, not waited for.
+     */
+    @Query(value = "SELECT * FROM booking_sagas WHERE state IN ('COMPENSATING', 'REFUNDING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<BookingSaga> lockDueCompensations(@Param("now") Instant now, @Param("limit") int limit);
+}
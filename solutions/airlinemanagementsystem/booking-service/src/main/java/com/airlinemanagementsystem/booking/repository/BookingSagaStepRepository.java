@@ -0,0 +1,9 @@
+package com.airlinemanagementsystem.booking.repository;
+
+import com.airlinemanagementsystem.booking.entity.BookingSagaStep;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookingSagaStepRepository extends JpaRepository<BookingSagaStep, Long> {
+}
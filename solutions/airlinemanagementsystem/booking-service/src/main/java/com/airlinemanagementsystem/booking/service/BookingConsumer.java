@@ -1,11 +1,17 @@
 package com.airlinemanagementsystem.booking.service;
 
+import com.airlinemanagementsystem.booking.concurrent.KeyOrderedExecutor;
+import com.airlinemanagementsystem.booking.config.BookingKafkaConfig;
 import com.airlinemanagementsystem.booking.dto.BookingRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -13,10 +19,30 @@ public class BookingConsumer {
 
     private final BookingService bookingService;
     private final EmailService emailService;
+    private final KeyOrderedExecutor bookingRequestExecutor;
+    private final BookingStatusProjection bookingStatusProjection;
+
+    /**
+     * Each poll is fanned out over the worker lanes by userId: one user's requests stay in
+     * order, different users in the same partition are processed in parallel. The batch
+     * returns (and its offsets are committed) only once every record has been handled.
+     */
+    @KafkaListener(topics = BookingKafkaConfig.BOOKING_REQ_TOPIC, groupId = "booking-processor-group",
+            containerFactory = "bookingRequestListenerFactory")
+    public void onBookingRequestsReceived(List<ConsumerRecord<String, BookingRequest>> records) {
+        log.info("Kafka: Received {} booking requests", records.size());
+
+        CompletableFuture<?>[] tasks = records.stream()
+                .map(record -> bookingRequestExecutor.submit(
+                        record.key() != null ? record.key() : record.value().getUserId(),
+                        () -> onBookingRequestReceived(record.value())))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(tasks).join();
+    }
 
-    @KafkaListener(topics = "booking-request-topic", groupId = "booking-processor-group")
-    public void onBookingRequestReceived(BookingRequest request) {
-        log.info("Kafka: Received booking request for User: {}", request.getUserId());
+    private void onBookingRequestReceived(BookingRequest request) {
+        log.info("Kafka: Processing booking request for User: {}", request.getUserId());
 
         try {
             Long bookingId = bookingService.processBooking(request);
@@ -24,11 +50,19 @@ public class BookingConsumer {
             log.info("Kafka: Booking {} created. Waiting for Payment...", bookingId);
         } catch (Exception e) {
             log.error("Kafka: Booking Creation Failed. Reason: {}", e.getMessage());
+            if (request.getRequestId() != null) {
+                bookingStatusProjection.onFailed(request.getRequestId(), request.getUserId(), e.getMessage());
+            }
 
-            String contactEmail = request.getPassengers().get(0).getEmail();
-            String firstName = request.getPassengers().get(0).getFirstName();
+            // Never let one record fail the batch: that would redeliver requests already processed
+            try {
+                String contactEmail = request.getPassengers().get(0).getEmail();
+                String firstName = request.getPassengers().get(0).getFirstName();
 
-            emailService.sendBookingFailureEmail(contactEmail, firstName, e.getMessage());
+                emailService.sendBookingFailureEmail(contactEmail, firstName, e.getMessage());
+            } catch (Exception mailException) {
+                log.error("Kafka: Could not notify User {} of the failure: {}", request.getUserId(), mailException.getMessage());
+            }
         }
     }
-}
\ No newline at end of file
+}
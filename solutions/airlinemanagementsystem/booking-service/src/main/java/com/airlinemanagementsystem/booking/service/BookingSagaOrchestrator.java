@@ -0,0 +1,485 @@
+package com.airlinemanagementsystem.booking.service;
+
+import com.airlinemanagementsystem.booking.client.FlightServiceClient;
+import com.airlinemanagementsystem.booking.concurrent.TimerWheel;
+import com.airlinemanagementsystem.booking.dto.SeatBatchRequest;
+import com.airlinemanagementsystem.booking.entity.Booking;
+import com.airlinemanagementsystem.booking.entity.BookingSaga;
+import com.airlinemanagementsystem.booking.entity.BookingSagaStep;
+import com.airlinemanagementsystem.booking.entity.BookingStatus;
+import com.airlinemanagementsystem.booking.entity.SagaState;
+import com.airlinemanagementsystem.booking.entity.SagaStep;
+import com.airlinemanagementsystem.booking.repository.BookingRepository;
+import com.airlinemanagementsystem.booking.repository.BookingSagaRepository;
+import com.airlinemanagementsystem.booking.repository.BookingSagaStepRepository;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking saga state machine:
+ * AWAITING_PAYMENT -> CONFIRMING -> COMPLETED on payment success, or
+ * AWAITING_PAYMENT / CONFIRMING -> COMPENSATING -> COMPENSATED on failure or payment timeout.
+ * If the payment was taken (confirmation failed, or it arrived after the saga gave up) the saga
+ * passes through REFUNDING until the refund request is published on {@link #REFUND_TOPIC}.
+ * State lives in booking_sagas and every step is appended to booking_saga_steps.
+ * <p>
+ * Payment deadlines of sagas started here sit in an in-memory {@link TimerWheel}; each tick expires
+ * everything due in one transaction. A slower database sweep catches sagas whose timer was lost
+ * (restart, other instance). While a saga waits for payment its seat locks are extended on
+ * every heartbeat, so they cannot lapse before the payment deadline; a saga whose locks were
+ * lost anyway is compensated right away. Seat release runs in the compensation worker, which claims due
+ * sagas in batches and retries failures with backoff, so a flight-service outage delays the
+ * release instead of losing it.
+ */
+@Slf4j
+@Service
+public class BookingSagaOrchestrator {
+
+    // Consumed by payment-service, which refunds the booking's successful payment
+    static final String REFUND_TOPIC = "booking-failure-topic";
+
+    private final BookingSagaRepository sagaRepository;
+    private final BookingSagaStepRepository stepRepository;
+    private final BookingRepository bookingRepository;
+    private final FlightServiceClient flightServiceClient;
+    private final BookingStatusProjection bookingStatusProjection;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TimerWheel<Long> paymentTimers;
+
+    @Value("${booking-service.saga.payment-timeout:9m}")
+    private Duration paymentTimeout;
+
+    @Value("${booking-service.saga.batch-size:200}")
+    private int batchSize;
+
+    @Value("${booking-service.saga.claim-lease:60s}")
+    private Duration claimLease;
+
+    @Value("${booking-service.saga.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${booking-service.saga.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    @Value("${booking-service.saga.refund-send-timeout:10s}")
+    private Duration refundSendTimeout;
+
+    public BookingSagaOrchestrator(BookingSagaRepository sagaRepository,
+                                   BookingSagaStepRepository stepRepository,
+                                   BookingRepository bookingRepository,
+                                   FlightServiceClient flightServiceClient,
+                                   BookingStatusProjection bookingStatusProjection,
+                                   KafkaTemplate<String, Object> kafkaTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${booking-service.saga.timer-tick-ms:1000}") long tickMillis,
+                                   @Value("${booking-service.saga.timer-slots:1024}") int timerSlots) {
+        this.sagaRepository = sagaRepository;
+        this.stepRepository = stepRepository;
+        this.bookingRepository = bookingRepository;
+        this.flightServiceClient = flightServiceClient;
+        this.bookingStatusProjection = bookingStatusProjection;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.paymentTimers = new TimerWheel<>(timerSlots, tickMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Records a new saga for a saved PENDING booking whose seats are locked and whose payment
+     * request is about to be sent. Joins the booking transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void start(Booking booking, List<String> seatNumbers) {
+        Instant now = Instant.now();
+        Instant deadline = now.plus(paymentTimeout);
+
+        sagaRepository.save(BookingSaga.builder()
+                .bookingId(booking.getBookingId())
+                .flightId(booking.getFlightId())
+                .userId(booking.getUserId())
+                .seatNumbers(String.join(",", seatNumbers))
+                .state(SagaState.AWAITING_PAYMENT)
+                .expiresAt(deadline)
+                .updatedAt(now)
+                .build());
+
+        stepRepository.saveAll(List.of(
+                step(booking.getBookingId(), SagaStep.SEATS_LOCKED, String.join(",", seatNumbers), now),
+                step(booking.getBookingId(), SagaStep.PAYMENT_REQUESTED, null, now)));
+
+        afterCommit(() -> paymentTimers.schedule(booking.getBookingId(), deadline.toEpochMilli()));
+    }
+
+    /**
+     * Payment succeeded: moves the saga to CONFIRMING. Returns false if the saga is no longer
+     * waiting for payment (timed out or already handled), in which case nothing may be confirmed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean beginConfirmation(Long bookingId) {
+        BookingSaga saga = sagaRepository.findById(bookingId).orElse(null);
+        if (saga == null) {
+            return true; // Booking predates the saga log
+        }
+        if (saga.getState() != SagaState.AWAITING_PAYMENT) {
+            log.warn("Saga {}: payment arrived in state {}, not confirming", bookingId, saga.getState());
+            return false;
+        }
+
+        transition(saga, SagaState.CONFIRMING, SagaStep.PAYMENT_SUCCEEDED, null);
+        afterCommit(() -> paymentTimers.cancel(bookingId));
+        return true;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(Long bookingId) {
+        sagaRepository.findById(bookingId)
+                .ifPresent(saga -> transition(saga, SagaState.COMPLETED, SagaStep.SEATS_CONFIRMED, null));
+    }
+
+    /**
+     * Payment or confirmation failed: hands the seats to the compensation worker. The booking
+     * status is set by the caller. A saga already CONFIRMING has been paid, so its payment is
+     * refunded as well.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void compensate(Long bookingId, SagaStep cause, String reason) {
+        sagaRepository.findById(bookingId).ifPresent(saga -> {
+            if (saga.getState() == SagaState.AWAITING_PAYMENT || saga.getState() == SagaState.CONFIRMING) {
+                saga.setRefundDue(saga.getState() == SagaState.CONFIRMING);
+                saga.setNextAttemptAt(Instant.now());
+                transition(saga, SagaState.COMPENSATING, cause, reason);
+            }
+        });
+        afterCommit(() -> paymentTimers.cancel(bookingId));
+    }
+
+    /**
+     * Payment succeeded for a booking that will not be confirmed any more (it expired, or failed
+     * or was cancelled first): queues a refund through the compensation worker. Idempotent, a
+     * redelivered payment event queues nothing; a completed saga is never refunded.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refundLatePayment(Long bookingId) {
+        BookingSaga saga = sagaRepository.findById(bookingId).orElse(null);
+        if (saga == null) {
+            log.error("Booking {} was paid but cannot be confirmed and has no saga; refund it manually", bookingId);
+            return;
+        }
+        if (saga.isRefundDue() || saga.getRefundRequestedAt() != null) {
+            log.info("Saga {}: refund already queued or requested", bookingId);
+            return;
+        }
+
+        switch (saga.getState()) {
+            case COMPENSATING -> {
+                saga.setRefundDue(true);
+                transition(saga, SagaState.COMPENSATING, SagaStep.PAYMENT_SUCCEEDED, "Late payment, refund due");
+            }
+            case COMPENSATED, COMPENSATION_FAILED -> {
+                saga.setRefundDue(true);
+                saga.setAttempts(0);
+                saga.setLastError(null);
+                saga.setNextAttemptAt(Instant.now());
+                transition(saga, SagaState.REFUNDING, SagaStep.PAYMENT_SUCCEEDED, "Late payment, refund due");
+            }
+            default -> log.warn("Saga {}: payment arrived in state {}, no refund", bookingId, saga.getState());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking-service.saga.timer-tick-ms:1000}")
+    public void onTimerTick() {
+        List<Long> due = paymentTimers.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> chunk = due.subList(from, Math.min(from + batchSize, due.size()));
+            transactionTemplate.executeWithoutResult(status -> expire(chunk));
+        }
+    }
+
+    /**
+     * Extends the seat locks of every saga still waiting for payment. A 409 means a lock expired
+     * or changed hands: the booking can no longer be confirmed, so it is cancelled and compensated
+     * now instead of at the payment deadline. Other failures are retried on the next heartbeat.
+     */
+    @Scheduled(fixedDelayString = "${booking-service.saga.lock-heartbeat-interval-ms:120000}")
+    public void heartbeatSeatLocks() {
+        Instant now = Instant.now();
+        int extended = 0;
+        int lost = 0;
+        List<BookingSaga> page;
+        Long afterId = 0L;
+
+        do {
+            page = sagaRepository.findByStateAfter(SagaState.AWAITING_PAYMENT, afterId, Limit.of(batchSize));
+            for (BookingSaga saga : page) {
+                if (saga.getExpiresAt().isBefore(now)) {
+                    continue; // Expired by the timer or the sweep
+                }
+                try {
+                    if (Boolean.TRUE.equals(flightServiceClient.extendSeatLocks(
+                            new SeatBatchRequest(saga.getFlightId(), saga.getUserId(), saga.seatNumberList())))) {
+                        extended++;
+                        continue;
+                    }
+                } catch (FeignException.Conflict e) {
+                    // Handled below, same as a false answer
+                } catch (Exception e) {
+                    log.warn("Saga {}: could not extend seat locks, retrying on the next heartbeat: {}",
+                            saga.getBookingId(), e.getMessage());
+                    continue;
+                }
+
+                try {
+                    transactionTemplate.executeWithoutResult(status -> onLocksLost(saga.getBookingId()));
+                    lost++;
+                } catch (Exception e) {
+                    // Most likely a concurrent payment event changed the saga; re-checked next heartbeat
+                    log.warn("Saga {}: could not cancel after losing its seat locks: {}", saga.getBookingId(), e.getMessage());
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getBookingId();
+            }
+        } while (page.size() == batchSize);
+
+        if (extended > 0 || lost > 0) {
+            log.info("Seat lock heartbeat: {} sagas extended, {} cancelled after losing their locks", extended, lost);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking-service.saga.sweep-interval-ms:30000}")
+    public void sweepOverdue() {
+        List<Long> overdue;
+        do {
+            overdue = sagaRepository.findOverdueIds(SagaState.AWAITING_PAYMENT, Instant.now(), Limit.of(batchSize));
+            if (!overdue.isEmpty()) {
+                List<Long> chunk = overdue;
+                transactionTemplate.executeWithoutResult(status -> expire(chunk));
+            }
+        } while (overdue.size() == batchSize);
+    }
+
+    /**
+     * Claims a batch of due compensations, releases their seats through flight-service, publishes
+     * the refunds due and records each outcome. Claimed rows are leased, so a crash mid-batch only
+     * delays them. Seat release and refund are tracked separately: a failed refund is retried
+     * without releasing the seats again.
+     */
+    @Scheduled(fixedDelayString = "${booking-service.saga.compensation-interval-ms:2000}")
+    public void runCompensations() {
+        List<BookingSaga> claimed = transactionTemplate.execute(status -> claimCompensations());
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String> releaseFailures = new HashMap<>();
+        Map<Long, CompletableFuture<?>> refunds = new HashMap<>();
+        for (BookingSaga saga : claimed) {
+            if (saga.getState() == SagaState.COMPENSATING) {
+                try {
+                    flightServiceClient.unlockSeats(new SeatBatchRequest(saga.getFlightId(), saga.getUserId(), saga.seatNumberList()));
+                } catch (Exception e) {
+                    releaseFailures.put(saga.getBookingId(), e.getMessage());
+                }
+            }
+            if (saga.isRefundDue()) {
+                refunds.put(saga.getBookingId(), kafkaTemplate.send(REFUND_TOPIC, saga.getBookingId().toString(), saga.getBookingId()));
+            }
+        }
+
+        Set<Long> refunded = new HashSet<>();
+        Map<Long, String> refundFailures = awaitRefunds(refunds, refunded);
+
+        transactionTemplate.executeWithoutResult(status -> recordCompensations(claimed, refunded, releaseFailures, refundFailures));
+        log.info("Saga compensation: {} claimed, {} refunds requested, {} to retry", claimed.size(), refunded.size(),
+                releaseFailures.size() + refundFailures.size());
+    }
+
+    private void expire(List<Long> bookingIds) {
+        Instant now = Instant.now();
+        List<BookingSaga> sagas = sagaRepository.lockOverdue(bookingIds, SagaState.AWAITING_PAYMENT, now);
+        if (sagas.isEmpty()) {
+            return;
+        }
+
+        List<Long> expiredIds = new ArrayList<>(sagas.size());
+        for (BookingSaga saga : sagas) {
+            saga.setNextAttemptAt(now);
+            transition(saga, SagaState.COMPENSATING, SagaStep.TIMED_OUT, "No payment within " + paymentTimeout);
+            expiredIds.add(saga.getBookingId());
+        }
+
+        List<Booking> bookings = bookingRepository.findAllById(expiredIds);
+        for (Booking booking : bookings) {
+            if (booking.getStatus() == BookingStatus.PENDING) {
+                booking.setStatus(BookingStatus.EXPIRED);
+                bookingStatusProjection.onBookingChanged(booking);
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        log.info("Expired {} bookings without payment", expiredIds.size());
+    }
+
+    private void onLocksLost(Long bookingId) {
+        BookingSaga saga = sagaRepository.findById(bookingId).orElse(null);
+        if (saga == null || saga.getState() != SagaState.AWAITING_PAYMENT) {
+            return; // Paid, failed or expired meanwhile
+        }
+
+        saga.setNextAttemptAt(Instant.now());
+        transition(saga, SagaState.COMPENSATING, SagaStep.LOCKS_LOST, "Seat lock expired or taken by another user");
+        afterCommit(() -> paymentTimers.cancel(bookingId));
+
+        bookingRepository.findById(bookingId)
+                .filter(booking -> booking.getStatus() == BookingStatus.PENDING)
+                .ifPresent(booking -> {
+                    booking.setStatus(BookingStatus.CANCELLED);
+                    bookingRepository.save(booking);
+                    bookingStatusProjection.onBookingChanged(booking);
+                });
+    }
+
+    private List<BookingSaga> claimCompensations() {
+        Instant now = Instant.now();
+        List<BookingSaga> due = sagaRepository.lockDueCompensations(now, batchSize);
+        due.forEach(saga -> saga.setNextAttemptAt(now.plus(claimLease)));
+        return sagaRepository.saveAll(due);
+    }
+
+    // A send still pending at the deadline is retried. If it went out after all, payment-service
+    // finds no successful payment left for the duplicate and refunds nothing twice
+    private Map<Long, String> awaitRefunds(Map<Long, CompletableFuture<?>> refunds, Set<Long> refunded) {
+        Map<Long, String> failures = new HashMap<>();
+        long deadline = System.nanoTime() + refundSendTimeout.toNanos();
+
+        refunds.forEach((bookingId, sent) -> {
+            try {
+                sent.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                refunded.add(bookingId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.put(bookingId, "Interrupted while publishing refund request");
+            } catch (Exception e) {
+                failures.put(bookingId, "Refund request not published: " + e.getMessage());
+            }
+        });
+        return failures;
+    }
+
+    private void recordCompensations(List<BookingSaga> claimed, Set<Long> refunded,
+                                     Map<Long, String> releaseFailures, Map<Long, String> refundFailures) {
+        Instant now = Instant.now();
+        List<BookingSaga> sagas = sagaRepository.findAllById(claimed.stream().map(BookingSaga::getBookingId).toList());
+        List<BookingSagaStep> steps = new ArrayList<>(sagas.size());
+
+        for (BookingSaga saga : sagas) {
+            Long bookingId = saga.getBookingId();
+            String releaseError = releaseFailures.get(bookingId);
+            String refundError = refundFailures.get(bookingId);
+            saga.setUpdatedAt(now);
+
+            if (saga.getState() == SagaState.COMPENSATING && releaseError == null) {
+                saga.setState(SagaState.REFUNDING); // Only the refund can be left
+                steps.add(step(bookingId, SagaStep.SEATS_RELEASED, null, now));
+            }
+            if (refunded.contains(bookingId)) {
+                saga.setRefundDue(false);
+                saga.setRefundRequestedAt(now);
+                steps.add(step(bookingId, SagaStep.REFUND_REQUESTED, null, now));
+            }
+
+            if (releaseError == null && refundError == null) {
+                // A late payment may have queued a refund after the claim; it goes out on the next run
+                if (saga.isRefundDue()) {
+                    saga.setNextAttemptAt(now);
+                } else {
+                    saga.setState(SagaState.COMPENSATED);
+                    saga.setNextAttemptAt(null);
+                }
+                continue;
+            }
+
+            String error = releaseError != null ? releaseError : refundError;
+            saga.setAttempts(saga.getAttempts() + 1);
+            saga.setLastError(truncate(error));
+            steps.add(step(bookingId, releaseError != null ? SagaStep.RELEASE_FAILED : SagaStep.REFUND_FAILED, truncate(error), now));
+
+            if (saga.getAttempts() >= maxAttempts) {
+                if (saga.isRefundDue()) {
+                    log.error("Saga {}: giving up after {} attempts with the refund not requested; refund it manually. Last error: {}",
+                            bookingId, saga.getAttempts(), error);
+                } else {
+                    log.error("Saga {}: seat release failed {} times, giving up; locks expire by TTL. Last error: {}",
+                            bookingId, saga.getAttempts(), error);
+                }
+                saga.setState(SagaState.COMPENSATION_FAILED);
+                saga.setNextAttemptAt(null);
+            } else {
+                saga.setNextAttemptAt(now.plus(backoff(saga.getAttempts())));
+            }
+        }
+
+        sagaRepository.saveAll(sagas);
+        stepRepository.saveAll(steps);
+    }
+
+    private void transition(BookingSaga saga, SagaState state, SagaStep step, String detail) {
+        Instant now = Instant.now();
+        log.info("Saga {}: {} -> {} ({})", saga.getBookingId(), saga.getState(), state, step);
+        saga.setState(state);
+        saga.setUpdatedAt(now);
+        sagaRepository.save(saga);
+        stepRepository.save(step(saga.getBookingId(), step, truncate(detail), now));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private BookingSagaStep step(Long bookingId, SagaStep step, String detail, Instant at) {
+        return BookingSagaStep.builder()
+                .bookingId(bookingId)
+                .step(step)
+                .detail(detail)
+                .createdAt(at)
+                .build();
+    }
+
+    private static String truncate(String text) {
+        return text == null || text.length() <= 500 ? text : text.substring(0, 500);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
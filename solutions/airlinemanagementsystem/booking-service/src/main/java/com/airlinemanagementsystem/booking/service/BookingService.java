@@ -2,14 +2,18 @@ package com.airlinemanagementsystem.booking.service;
 
 import com.airlinemanagementsystem.booking.client.FlightServiceClient;
 import com.airlinemanagementsystem.booking.dto.BookingRequest;
+import com.airlinemanagementsystem.booking.dto.BookingRequestState;
+import com.airlinemanagementsystem.booking.dto.BookingRequestStatus;
 import com.airlinemanagementsystem.booking.dto.LuggageDTO;
 import com.airlinemanagementsystem.booking.dto.PassengerDTO;
 import com.airlinemanagementsystem.booking.dto.PaymentRequestDto;
+import com.airlinemanagementsystem.booking.dto.SeatBatchRequest;
 import com.airlinemanagementsystem.booking.entity.Booking;
 import com.airlinemanagementsystem.booking.entity.BookingStatus;
 import com.airlinemanagementsystem.booking.entity.Luggage;
 import com.airlinemanagementsystem.booking.entity.Passenger;
 import com.airlinemanagementsystem.booking.repository.BookingRepository;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -19,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -28,33 +33,64 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final FlightServiceClient flightServiceClient;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final BookingStatusProjection bookingStatusProjection;
+    private final BookingSagaOrchestrator bookingSagaOrchestrator;
 
     public Booking getLatestBooking(String userId) {
         return bookingRepository.findTopByUserIdOrderByBookingDateDesc(userId);
     }
 
+    /**
+     * Served from the Redis projection; MySQL is only read when the entry is missing
+     * (expired, or written while Redis was unavailable).
+     */
+    public Optional<BookingRequestStatus> getRequestStatus(String requestId, String userId) {
+        Optional<BookingRequestStatus> status = bookingStatusProjection.find(requestId)
+                .or(() -> bookingRepository.findByRequestId(requestId).map(this::toRequestStatus));
+
+        return status.filter(s -> userId.equals(s.getUserId()));
+    }
+
+    public Optional<BookingRequestStatus> getLatestRequestStatus(String userId) {
+        return bookingStatusProjection.findLatest(userId)
+                .or(() -> Optional.ofNullable(getLatestBooking(userId)).map(this::toRequestStatus));
+    }
+
     @Transactional
     public Long processBooking(BookingRequest request) {
         log.info("Service: Processing booking for Flight {}...", request.getFlightId());
 
-        List<String> lockedSeats = new ArrayList<>();
+        // Redelivered request: the booking already exists, do not lock or charge twice
+        if (request.getRequestId() != null) {
+            Booking existing = bookingRepository.findByRequestId(request.getRequestId()).orElse(null);
+            if (existing != null) {
+                log.info("Service: Request {} already processed as Booking {}", request.getRequestId(), existing.getBookingId());
+                return existing.getBookingId();
+            }
+        }
+
+        List<String> seatNumbers = request.getPassengers().stream()
+                .map(PassengerDTO::getSeatNumber)
+                .toList();
+        boolean seatsLocked = false;
 
         try {
-            for (PassengerDTO p : request.getPassengers()) {
-                boolean isLocked = flightServiceClient.lockSeat(
-                        request.getFlightId(),
-                        p.getSeatNumber(),
-                        request.getUserId()
-                );
-
-                if (!isLocked) {
-                    throw new RuntimeException("Seat " + p.getSeatNumber() + " is already occupied.");
-                }
+            Boolean locked;
+            try {
+                locked = flightServiceClient.lockSeats(
+                        new SeatBatchRequest(request.getFlightId(), request.getUserId(), seatNumbers));
+            } catch (FeignException.Conflict e) {
+                locked = false; // Some seat is held by another user; nothing was locked
+            }
 
-                lockedSeats.add(p.getSeatNumber());
+            if (!Boolean.TRUE.equals(locked)) {
+                throw new RuntimeException("Seats " + seatNumbers + " could not be locked.");
             }
 
+            seatsLocked = true;
+
             Booking booking = Booking.builder()
+                    .requestId(request.getRequestId())
                     .flightId(request.getFlightId())
                     .userId(request.getUserId())
                     .status(BookingStatus.PENDING)
@@ -92,6 +128,8 @@ public class BookingService {
 
             Booking savedBooking = bookingRepository.save(booking);
             log.info("Service: Booking saved PENDING. ID: {}", savedBooking.getBookingId());
+            bookingStatusProjection.onBookingChanged(savedBooking);
+            bookingSagaOrchestrator.start(savedBooking, seatNumbers);
 
             PaymentRequestDto paymentRequest = PaymentRequestDto.builder()
                     .bookingId(savedBooking.getBookingId())
@@ -108,21 +146,30 @@ public class BookingService {
         } catch (Exception e) {
             log.error("Booking failed! Initiating compensation rollback. Reason: {}", e.getMessage());
 
-            // --- COMPENSATING TRANSACTION: Release only the seats we locked ---
-            if (!lockedSeats.isEmpty()) {
-                log.info("Rolling back locks for seats: {}", lockedSeats);
-                for (String seatNum : lockedSeats) {
-                    try {
-                        flightServiceClient.unlockSeat(request.getFlightId(), seatNum);
-                    } catch (Exception unlockEx) {
-                        log.error("CRITICAL: Failed to rollback lock for seat {}. Manual intervention required.", seatNum);
-                    }
+            // --- COMPENSATING TRANSACTION: the batch lock is all-or-nothing, so only roll back if it succeeded ---
+            // No booking or saga row survives this rollback; if the release fails the locks expire by TTL
+            if (seatsLocked) {
+                log.info("Rolling back locks for seats: {}", seatNumbers);
+                try {
+                    flightServiceClient.unlockSeats(new SeatBatchRequest(request.getFlightId(), request.getUserId(), seatNumbers));
+                } catch (Exception unlockEx) {
+                    log.error("Failed to roll back locks for seats {}; they will expire by TTL. Reason: {}", seatNumbers, unlockEx.getMessage());
                 }
             }
             throw e;
         }
     }
 
+    private BookingRequestStatus toRequestStatus(Booking booking) {
+        return BookingRequestStatus.builder()
+                .requestId(booking.getRequestId())
+                .userId(booking.getUserId())
+                .state(BookingRequestState.valueOf(booking.getStatus().name()))
+                .bookingId(booking.getBookingId())
+                .bookingReference(booking.getBookingReference())
+                .build();
+    }
+
     private Double calculateTotalAmount(BookingRequest request) {
         double baseFare = 150.0;
         double total = 0.0;
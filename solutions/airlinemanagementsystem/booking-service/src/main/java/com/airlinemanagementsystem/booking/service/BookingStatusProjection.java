@@ -0,0 +1,186 @@
+package com.airlinemanagementsystem.booking.service;
+
+import com.airlinemanagementsystem.booking.dto.BookingRequestState;
+import com.airlinemanagementsystem.booking.dto.BookingRequestStatus;
+import com.airlinemanagementsystem.booking.entity.Booking;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Redis read model of booking request outcomes, so status polling never reaches MySQL.
+ * One small hash per request ({@code BOOKING_REQUEST::<requestId>}) plus a pointer to each
+ * user's latest request. Writes are best effort: a Redis outage must not fail a booking,
+ * and readers fall back to the database when an entry is missing.
+ * Every change is also published on {@link #STATUS_CHANNEL} for {@link BookingStatusStream}.
+ * Writes only move forward (QUEUED, then PENDING, then a final state): after-commit callbacks
+ * and the consumer can race, and a late QUEUED or PENDING must not overwrite a final outcome.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingStatusProjection {
+
+    private static final String REQUEST_PREFIX = "BOOKING_REQUEST::";
+    private static final String LATEST_PREFIX = "BOOKING_USER_LATEST::";
+    public static final String STATUS_CHANNEL = "booking-status-updates";
+
+    // KEYS[1] = request hash, KEYS[2] = user's latest pointer or "", ARGV = rank, TTL millis,
+    // request id, channel, message, then the hash fields and values. Writes and publishes only if
+    // the rank is above the stored one; replies 1 if written, 0 if rejected.
+    private static final RedisScript<Long> WRITE_SCRIPT = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('HGET', KEYS[1], 'rank') or '-1') " +
+            "if current >= tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('HSET', KEYS[1], unpack(ARGV, 6)) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "if KEYS[2] ~= '' then redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[2]) end " +
+            "redis.call('PUBLISH', ARGV[4], ARGV[5]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${booking-service.status.ttl:24h}")
+    private Duration ttl;
+
+    public void onQueued(String requestId, String userId) {
+        write(BookingRequestStatus.builder()
+                .requestId(requestId)
+                .userId(userId)
+                .state(BookingRequestState.QUEUED)
+                .build(), true);
+    }
+
+    public void onFailed(String requestId, String userId, String reason) {
+        write(BookingRequestStatus.builder()
+                .requestId(requestId)
+                .userId(userId)
+                .state(BookingRequestState.FAILED)
+                .reason(reason)
+                .build(), false);
+    }
+
+    /**
+     * Mirrors the booking's current status. Inside a transaction the write waits for the
+     * commit, so a rolled-back change is never visible to pollers.
+     */
+    public void onBookingChanged(Booking booking) {
+        if (booking.getRequestId() == null) {
+            return; // Booked before request ids existed
+        }
+
+        BookingRequestStatus status = BookingRequestStatus.builder()
+                .requestId(booking.getRequestId())
+                .userId(booking.getUserId())
+                .state(BookingRequestState.valueOf(booking.getStatus().name()))
+                .bookingId(booking.getBookingId())
+                .bookingReference(booking.getBookingReference())
+                .build();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(status, false);
+                }
+            });
+        } else {
+            write(status, false);
+        }
+    }
+
+    public Optional<BookingRequestStatus> find(String requestId) {
+        try {
+            Map<Object, Object> fields = redisTemplate.opsForHash().entries(REQUEST_PREFIX + requestId);
+            return fields.isEmpty() ? Optional.empty() : Optional.of(fromHash(requestId, fields));
+        } catch (Exception e) {
+            log.warn("Booking status read model unavailable: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Optional<BookingRequestStatus> findLatest(String userId) {
+        try {
+            String requestId = redisTemplate.opsForValue().get(LATEST_PREFIX + userId);
+            return requestId == null ? Optional.empty() : find(requestId);
+        } catch (Exception e) {
+            log.warn("Booking status read model unavailable: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Only a new submission moves the user's latest pointer; later updates of older requests must not
+    private void write(BookingRequestStatus status, boolean latest) {
+        status.setUpdatedAt(Instant.now());
+        String key = REQUEST_PREFIX + status.getRequestId();
+        String latestKey = latest ? LATEST_PREFIX + status.getUserId() : "";
+        String rank = String.valueOf(rankOf(status.getState()));
+
+        try {
+            List<String> args = new ArrayList<>(List.of(
+                    rank,
+                    String.valueOf(ttl.toMillis()),
+                    status.getRequestId(),
+                    STATUS_CHANNEL,
+                    objectMapper.writeValueAsString(status)));
+            addField(args, "rank", rank);
+            addField(args, "userId", status.getUserId());
+            addField(args, "state", status.getState().name());
+            addField(args, "updatedAt", status.getUpdatedAt().toString());
+            if (status.getBookingId() != null) addField(args, "bookingId", status.getBookingId().toString());
+            if (status.getBookingReference() != null) addField(args, "bookingReference", status.getBookingReference());
+            if (status.getReason() != null) addField(args, "reason", status.getReason());
+
+            Long written = redisTemplate.execute(WRITE_SCRIPT, List.of(key, latestKey), args.toArray(new Object[0]));
+            if (written == null || written == 0) {
+                log.debug("Ignored {} for booking request {}: a later state is already recorded",
+                        status.getState(), status.getRequestId());
+            }
+        } catch (Exception e) {
+            log.warn("Could not record {} for booking request {}: {}", status.getState(), status.getRequestId(), e.getMessage());
+        }
+    }
+
+    private static void addField(List<String> args, String field, String value) {
+        args.add(field);
+        args.add(value);
+    }
+
+    // Final states share the top rank: a booking reaches exactly one of them
+    private static int rankOf(BookingRequestState state) {
+        return switch (state) {
+            case QUEUED -> 0;
+            case PENDING -> 1;
+            case CONFIRMED, CANCELLED, EXPIRED, FAILED -> 2;
+        };
+    }
+
+    private BookingRequestStatus fromHash(String requestId, Map<Object, Object> fields) {
+        Object bookingId = fields.get("bookingId");
+        return BookingRequestStatus.builder()
+                .requestId(requestId)
+                .userId((String) fields.get("userId"))
+                .state(BookingRequestState.valueOf((String) fields.get("state")))
+                .bookingId(bookingId == null ? null : Long.valueOf((String) bookingId))
+                .bookingReference((String) fields.get("bookingReference"))
+                .reason((String) fields.get("reason"))
+                .updatedAt(Instant.parse((String) fields.get("updatedAt")))
+                .build();
+    }
+}
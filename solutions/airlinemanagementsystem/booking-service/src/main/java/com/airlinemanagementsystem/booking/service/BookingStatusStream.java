@@ -0,0 +1,110 @@
+package com.airlinemanagementsystem.booking.service;
+
+import com.airlinemanagementsystem.booking.dto.BookingRequestState;
+import com.airlinemanagementsystem.booking.dto.BookingRequestStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Pushes booking request transitions to subscribed clients over SSE.
+ * Emitters are async servlet responses, so an idle subscriber costs a map entry and a socket,
+ * not a thread. Status changes arrive on the Redis channel written by {@link BookingStatusProjection},
+ * so a client is notified whichever instance processed its booking.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingStatusStream implements MessageListener {
+
+    private static final Set<BookingRequestState> FINAL_STATES = EnumSet.of(
+            BookingRequestState.CONFIRMED, BookingRequestState.CANCELLED,
+            BookingRequestState.EXPIRED, BookingRequestState.FAILED);
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${booking-service.status.stream-timeout:10m}")
+    private Duration streamTimeout;
+
+    /**
+     * Opens a stream that starts with the request's current status and ends after a final one.
+     * The emitter is registered before the current status is read, so a transition racing
+     * with the subscription is delivered (possibly twice) rather than lost.
+     */
+    public SseEmitter subscribe(String requestId, Supplier<Optional<BookingRequestStatus>> currentStatus) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+
+        subscribers.computeIfAbsent(requestId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(requestId, emitter));
+        emitter.onTimeout(() -> unsubscribe(requestId, emitter));
+        emitter.onError(e -> unsubscribe(requestId, emitter));
+
+        currentStatus.get().ifPresent(current -> {
+            if (send(requestId, emitter, current) && isFinal(current)) {
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        BookingRequestStatus status;
+        try {
+            status = objectMapper.readValue(message.getBody(), BookingRequestStatus.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable booking status update: {}", e.getMessage());
+            return;
+        }
+
+        Set<SseEmitter> emitters = subscribers.get(status.getRequestId());
+        if (emitters == null) {
+            return; // No client of this request is connected to this instance
+        }
+
+        for (SseEmitter emitter : emitters) {
+            if (send(status.getRequestId(), emitter, status) && isFinal(status)) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private boolean send(String requestId, SseEmitter emitter, BookingRequestStatus status) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("status")
+                    .data(status));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping booking status subscriber of request {}: {}", requestId, e.getMessage());
+            unsubscribe(requestId, emitter);
+            return false;
+        }
+    }
+
+    private void unsubscribe(String requestId, SseEmitter emitter) {
+        subscribers.computeIfPresent(requestId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private boolean isFinal(BookingRequestStatus status) {
+        return FINAL_STATES.contains(status.getState());
+    }
+}
@@ -0,0 +1,64 @@
+package com.airlinemanagementsystem.booking.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedExecutorTest {
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor("test-lane", 2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void tasksOfOneKeyRunInSubmissionOrder() {
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<?>[] tasks = IntStream.range(0, 200)
+                .mapToObj(i -> executor.submit("flight-7", () -> {
+                    if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                        Thread.yield();
+                    }
+                    executed.add(i);
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tasks).join();
+
+        assertThat(executed).containsExactlyElementsOf(IntStream.range(0, 200).boxed().toList());
+    }
+
+    @Test
+    void keysOnDifferentLanesDoNotWaitForEachOther() throws InterruptedException {
+        // "a" hashes to lane 1 and "b" to lane 0
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocked = executor.submit("a", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.submit("b", ran::countDown);
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(blocked).isNotDone();
+
+        release.countDown();
+        blocked.join();
+    }
+}
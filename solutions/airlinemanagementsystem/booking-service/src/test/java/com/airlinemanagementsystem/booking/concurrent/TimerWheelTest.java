@@ -0,0 +1,71 @@
+package com.airlinemanagementsystem.booking.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wheel of 8 slots of 100 ms starting at 0: one revolution spans 800 ms.
+ */
+class TimerWheelTest {
+
+    private final TimerWheel<String> wheel = new TimerWheel<>(8, 100, 0);
+
+    @Test
+    void keyIsDueOnlyOnceItsDeadlineHasPassed() {
+        wheel.schedule("a", 250);
+
+        assertThat(wheel.advance(200)).isEmpty();
+        assertThat(wheel.advance(249)).isEmpty();
+        assertThat(wheel.advance(250)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlineOneRevolutionAheadWaitsForItsTurnInTheSameSlot() {
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 1050);
+
+        assertThat(wheel.advance(300)).containsExactly("a");
+        assertThat(wheel.advance(1000)).isEmpty();
+        assertThat(wheel.advance(1050)).containsExactly("b");
+    }
+
+    @Test
+    void longPauseReturnsEverythingDueInOneAdvance() {
+        wheel.schedule("a", 150);
+        wheel.schedule("b", 550);
+        wheel.schedule("c", 5_000);
+        wheel.schedule("d", 20_000);
+
+        assertThat(wheel.advance(10_000)).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void deadlineAlreadyPassedFiresOnTheNextAdvance() {
+        wheel.advance(500);
+        wheel.schedule("a", 100);
+
+        assertThat(wheel.advance(500)).containsExactly("a");
+    }
+
+    @Test
+    void rescheduleReplacesTheOldDeadline() {
+        wheel.schedule("a", 150);
+        wheel.schedule("a", 650);
+
+        assertThat(wheel.advance(200)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(700)).containsExactly("a");
+    }
+
+    @Test
+    void cancelledKeyNeverFires() {
+        wheel.schedule("a", 150);
+        wheel.cancel("a");
+
+        assertThat(wheel.advance(1_000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+}
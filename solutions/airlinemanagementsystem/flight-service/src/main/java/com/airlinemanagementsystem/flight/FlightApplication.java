@@ -2,8 +2,10 @@ package com.airlinemanagementsystem.flight;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FlightApplication {
     public static void main(String[] args) {
         SpringApplication.run(FlightApplication.class, args);
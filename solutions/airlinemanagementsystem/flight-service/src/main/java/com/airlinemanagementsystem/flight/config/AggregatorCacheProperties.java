@@ -0,0 +1,28 @@
+package com.airlinemanagementsystem.flight.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "flight-service.aggregator.cache")
+public class AggregatorCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    private Duration defaultTtl = Duration.ofSeconds(60);
+    // How long past its TTL an entry may still be served while a refresh runs in the background
+    private Duration staleWindow = Duration.ofMinutes(5);
+    // Keyed by lower-case provider name
+    private Map<String, Duration> providerTtl = new HashMap<>();
+
+    public Duration ttlFor(String provider) {
+        return providerTtl.getOrDefault(provider.toLowerCase(Locale.ROOT), defaultTtl);
+    }
+}
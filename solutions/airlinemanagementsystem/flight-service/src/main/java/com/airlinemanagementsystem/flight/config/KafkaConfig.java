@@ -10,6 +10,7 @@ public class KafkaConfig {
 
     public static final String FLIGHT_STATUS_TOPIC = "flight-status-topic";
     public static final String SEAT_RESERVATION_TOPIC = "seat-reservation-topic";
+    public static final String SEAT_RELEASED_TOPIC = "seat-released-topic";
 
     @Bean
     public NewTopic flightStatusTopic() {
@@ -25,4 +26,11 @@ public class KafkaConfig {
                 .partitions(3)
                 .build();
     }
+
+    @Bean
+    public NewTopic seatReleasedTopic() {
+        return TopicBuilder.name(SEAT_RELEASED_TOPIC)
+                .partitions(3)
+                .build();
+    }
 }
@@ -1,54 +1,23 @@
 package com.airlinemanagementsystem.flight.config;
 
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
+/**
+ * Seat locks and their bookkeeping go through Boot's auto-configured {@code StringRedisTemplate}:
+ * plain UTF-8 keys and values, no Jackson on the hot path. Nothing in this service caches
+ * objects in Redis, so no object-serialising template is defined.
+ */
 @Configuration
 public class RedisConfig {
 
+    // Receives keyspace notifications (seat lock expiry)
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(connectionFactory);
-
-        ObjectMapper mapper = new ObjectMapper();
-
-        // 1. Handle Java 8 Dates (Instant)
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-
-        // 2. Handle Hibernate Proxies (The fix for your current error)
-        // This tells Jackson: "If you see a proxy, don't crash, just ignore the internal stuff"
-        Hibernate6Module hibernateModule = new Hibernate6Module();
-        hibernateModule.configure(Hibernate6Module.Feature.FORCE_LAZY_LOADING, false);
-        mapper.registerModule(hibernateModule);
-
-        // 3. Prevent crashing on empty beans
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-
-        // 4. Typing for Redis
-        mapper.activateDefaultTyping(
-                mapper.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY
-        );
-
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(mapper);
-
-        template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(serializer);
-        template.setHashKeySerializer(new StringRedisSerializer());
-        template.setHashValueSerializer(serializer);
-
-        return template;
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
     }
 }
@@ -21,9 +21,12 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
-                                "/swagger-ui.html"
+                                "/swagger-ui.html",
+                                "/actuator/health/**"
                         ).permitAll()
 
+                        // Dashboard listings: the export holds a DB connection for as long as the client reads
+                        .requestMatchers(HttpMethod.GET, "/api/v1/flights/export", "/api/v1/flights/page").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/flights/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/search/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/airports/**").permitAll()
@@ -33,8 +36,13 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.POST,
                                 "/api/v1/seats/lock",
+                                "/api/v1/seats/lock/batch",
+                                "/api/v1/seats/extend",
+                                "/api/v1/seats/extend/batch",
                                 "/api/v1/seats/confirm",
-                                "/api/v1/flights/*/seats/*/unlock"
+                                "/api/v1/seats/confirm/batch",
+                                "/api/v1/seats/unlock",
+                                "/api/v1/seats/unlock/batch"
                         ).permitAll()
 
                         .anyRequest().authenticated()
@@ -1,45 +1,105 @@
 package com.airlinemanagementsystem.flight.controller;
 
-import com.airlinemanagementsystem.flight.entity.Flight;
+import com.airlinemanagementsystem.flight.dto.AggregatedFlightsResponse;
+import com.airlinemanagementsystem.flight.dto.ProviderFlightsEvent;
 import com.airlinemanagementsystem.flight.integration.FlightAggregatorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.List;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/v1/simulation/aggregate")
 @RequiredArgsConstructor
 @Tag(name = "Flight Aggregation Simulation", description = "Simulates the Scatter-Gather pattern querying multiple external airlines with Resilience4j Circuit Breakers")
 public class AggregatorSimulationController {
 
+    private static final long STREAM_GRACE_MS = 1000;
+
     private final FlightAggregatorService aggregatorService;
 
     @Operation(
             summary = "Aggregate Flights from External Providers",
-            description = "Fires concurrent requests to FastAir (50ms), SlowJet (3000ms), and FlakyFly (20% failure rate). Demonstrates partial success, graceful degradation, and circuit breaker short-circuiting.",
+            description = "Fires concurrent requests to FastAir (50ms), SlowJet (3000ms), and FlakyFly (20% failure rate). Demonstrates partial success, graceful degradation, and circuit breaker short-circuiting. Providers that miss the deadline are omitted and reported as TIMED_OUT.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Successfully aggregated flights (returns partial results if a provider failed or its circuit is open)")
+                    @ApiResponse(responseCode = "200", description = "Successfully aggregated flights (returns partial results if a provider failed, timed out or its circuit is open), with per-provider status and latency")
             }
     )
     @GetMapping
-    public ResponseEntity<List<Flight>> simulateAggregation(
+    public ResponseEntity<AggregatedFlightsResponse> simulateAggregation(
             @Parameter(description = "Source Airport Code", example = "DEL")
             @RequestParam(defaultValue = "DEL") String source,
 
             @Parameter(description = "Destination Airport Code", example = "BOM")
-            @RequestParam(defaultValue = "BOM") String destination) {
+            @RequestParam(defaultValue = "BOM") String destination,
+
+            @Parameter(description = "Response deadline in milliseconds (defaults to the configured deadline)", example = "1500")
+            @RequestParam(required = false) Long deadlineMs) {
 
-        List<Flight> results = aggregatorService.aggregateFlights(source, destination, LocalDate.now());
+        AggregatedFlightsResponse results = aggregatorService.aggregateFlights(source, destination, LocalDate.now(),
+                deadlineMs == null ? null : Duration.ofMillis(deadlineMs));
         return ResponseEntity.ok(results);
     }
+
+    @Operation(
+            summary = "Stream Aggregated Flights as Server-Sent Events",
+            description = "Same scatter-gather as the aggregate endpoint, but each provider's flights are pushed as a 'provider' event as soon as that provider answers, so FastAir results arrive without waiting for SlowJet. A final 'complete' event carries the per-provider summary.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream of provider results followed by a completion summary")
+            }
+    )
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAggregation(
+            @Parameter(description = "Source Airport Code", example = "DEL")
+            @RequestParam(defaultValue = "DEL") String source,
+
+            @Parameter(description = "Destination Airport Code", example = "BOM")
+            @RequestParam(defaultValue = "BOM") String destination,
+
+            @Parameter(description = "Stream deadline in milliseconds (defaults to the configured deadline)", example = "1500")
+            @RequestParam(required = false) Long deadlineMs) {
+
+        Duration deadline = aggregatorService.resolveDeadline(deadlineMs == null ? null : Duration.ofMillis(deadlineMs));
+        SseEmitter emitter = new SseEmitter(deadline.toMillis() + STREAM_GRACE_MS);
+
+        aggregatorService.aggregateAsync(source, destination, LocalDate.now(), deadline,
+                        outcome -> sendEvent(emitter, "provider", ProviderFlightsEvent.builder()
+                                .provider(outcome.getResult())
+                                .flights(outcome.getFlights())
+                                .build()))
+                .thenAccept(summary -> {
+                    summary.setFlights(null);
+                    sendEvent(emitter, "complete", summary);
+                    emitter.complete();
+                })
+                .exceptionally(t -> {
+                    emitter.completeWithError(t);
+                    return null;
+                });
+
+        return emitter;
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the remaining providers still finish on their own executors
+            log.debug("Dropping '{}' aggregation event, stream closed: {}", name, e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.airlinemanagementsystem.flight.controller;
 
 import com.airlinemanagementsystem.flight.entity.Aircraft;
 import com.airlinemanagementsystem.flight.repository.AircraftRepository;
+import com.airlinemanagementsystem.flight.service.ReferenceDataCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -19,11 +20,14 @@ import java.util.List;
 public class AircraftController {
 
     private final AircraftRepository aircraftRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Operation(summary = "Add a new aircraft")
     @PostMapping
     public ResponseEntity<Aircraft> addAircraft(@Valid @RequestBody Aircraft aircraft) {
-        return new ResponseEntity<>(aircraftRepository.save(aircraft), HttpStatus.CREATED);
+        Aircraft savedAircraft = aircraftRepository.save(aircraft);
+        referenceDataCache.onAircraftSaved(savedAircraft);
+        return new ResponseEntity<>(savedAircraft, HttpStatus.CREATED);
     }
 
     @Operation(summary = "Get all aircrafts")
@@ -35,7 +39,7 @@ public class AircraftController {
     @Operation(summary = "Get aircraft by tail number")
     @GetMapping("/{tailNumber}")
     public ResponseEntity<Aircraft> getByTailNumber(@PathVariable String tailNumber) {
-        return aircraftRepository.findByTailNumber(tailNumber)
+        return referenceDataCache.findAircraft(tailNumber)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
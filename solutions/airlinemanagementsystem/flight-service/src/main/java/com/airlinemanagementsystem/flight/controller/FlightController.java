@@ -1,16 +1,27 @@
 package com.airlinemanagementsystem.flight.controller;
 
+import com.airlinemanagementsystem.flight.dto.FlightAvailabilityDTO;
+import com.airlinemanagementsystem.flight.dto.FlightImportRequest;
+import com.airlinemanagementsystem.flight.dto.FlightImportResult;
+import com.airlinemanagementsystem.flight.dto.FlightPageResponse;
+import com.airlinemanagementsystem.flight.dto.FlightSearchRequest;
+import com.airlinemanagementsystem.flight.dto.FlightSummaryDTO;
 import com.airlinemanagementsystem.flight.entity.Flight;
 import com.airlinemanagementsystem.flight.entity.FlightStatus;
+import com.airlinemanagementsystem.flight.service.FlightBulkImportService;
 import com.airlinemanagementsystem.flight.service.FlightService;
+import com.airlinemanagementsystem.flight.service.SeatAvailabilityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,6 +32,8 @@ import java.util.List;
 public class FlightController {
 
     private final FlightService flightService;
+    private final FlightBulkImportService flightBulkImportService;
+    private final SeatAvailabilityService seatAvailabilityService;
 
     @Operation(
             summary = "Schedule a new flight",
@@ -37,6 +50,15 @@ public class FlightController {
         return new ResponseEntity<>(createdFlight, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Bulk import schedules from Amadeus",
+            description = "Fetches every route for every date concurrently (rate limited), skips flights that already exist and writes the rest in JDBC batches."
+    )
+    @PostMapping("/import")
+    public ResponseEntity<FlightImportResult> importFlights(@Valid @RequestBody FlightImportRequest request) {
+        return ResponseEntity.ok(flightBulkImportService.importFlights(request));
+    }
+
     @Operation(summary = "Update flight status", description = "Updates status and triggers Kafka events.")
     @PatchMapping("/{flightId}/status")
     public ResponseEntity<String> updateStatus(
@@ -47,15 +69,50 @@ public class FlightController {
         return ResponseEntity.ok("Flight status successfully updated to " + status);
     }
 
+    @Operation(
+            summary = "Get seat availability by class",
+            description = "Total, booked, locked and available seats per seat class, read from maintained counters instead of the seat map."
+    )
+    @GetMapping("/{flightId}/availability")
+    public ResponseEntity<FlightAvailabilityDTO> getAvailability(@PathVariable Long flightId) {
+        return ResponseEntity.ok(seatAvailabilityService.getAvailability(flightId));
+    }
+
     @Operation(summary = "Get all scheduled flights")
     @GetMapping
     public ResponseEntity<List<Flight>> getAllFlights() {
         return ResponseEntity.ok(flightService.getAllFlights());
     }
 
-    @Operation(summary = "Get all scheduled flights")
-    @GetMapping
-    public ResponseEntity<List<Flight>> getAllFlightsByFlightId() {
-        return ResponseEntity.ok(flightService.getAllFlights());
+    @Operation(
+            summary = "Query flights from the primary database",
+            description = "Filters by route and date plus optional max price, airline and minimum available seats. Reads MySQL directly, so results are never behind the search index."
+    )
+    @GetMapping("/query")
+    public ResponseEntity<Page<FlightSummaryDTO>> queryFlights(@ModelAttribute FlightSearchRequest request) {
+        return ResponseEntity.ok(flightService.queryFlights(request));
+    }
+
+    @Operation(
+            summary = "List flights page by page",
+            description = "Keyset pagination ordered by departure time. Pass the returned nextCursor to fetch the following page."
+    )
+    @GetMapping("/page")
+    public ResponseEntity<FlightPageResponse> getFlightPage(
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(flightService.getFlightPage(cursor, size));
+    }
+
+    @Operation(
+            summary = "Export all flights as NDJSON",
+            description = "Streams one JSON flight summary per line straight from the database cursor."
+    )
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportFlights() {
+        StreamingResponseBody body = flightService::exportFlights;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.airlinemanagementsystem.flight.controller;
 
+import com.airlinemanagementsystem.flight.dto.SeatBatchRequest;
+import com.airlinemanagementsystem.flight.dto.SeatLockResult;
 import com.airlinemanagementsystem.flight.dto.SeatResponseDTO;
 import com.airlinemanagementsystem.flight.service.SeatLockService;
 import com.airlinemanagementsystem.flight.service.SeatService;
@@ -7,7 +9,9 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -44,8 +48,50 @@ public class SeatController {
             @Parameter(description = "Seat Number (e.g., 1A)", example = "1A") @RequestParam String seatNumber,
             @Parameter(description = "ID of the user attempting to lock", example = "user-123") @RequestParam String userId) {
 
-        boolean locked = seatLockService.acquireSeatLock(flightId, seatNumber, userId);
-        return ResponseEntity.ok(locked);
+        return toLockResponse(seatLockService.tryAcquireSeatLock(flightId, seatNumber, userId));
+    }
+
+    @Operation(
+            summary = "Acquire locks on several seats atomically (Redis Lua)",
+            description = "Locks every requested seat for the user with one Redis round trip, or none of them if any seat is already held. Used by the Booking Saga for group bookings.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "All seats locked"),
+                    @ApiResponse(responseCode = "409", description = "At least one seat is already locked; nothing was locked")
+            }
+    )
+    @PostMapping("/lock/batch")
+    public ResponseEntity<Boolean> lockSeats(@Valid @RequestBody SeatBatchRequest request) {
+        return toLockResponse(seatLockService.tryAcquireSeatLocks(request.getFlightId(), request.getSeatNumbers(), request.getUserId()));
+    }
+
+    @Operation(
+            summary = "Extend a Seat Lock",
+            description = "Resets the lock TTL to the full lock duration if the user still holds it. Lets long checkouts keep their seat without re-locking.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lock extended"),
+                    @ApiResponse(responseCode = "409", description = "Lock expired or is held by another user")
+            }
+    )
+    @PostMapping("/extend")
+    public ResponseEntity<Boolean> extendSeatLock(
+            @Parameter(description = "ID of the flight", example = "100") @RequestParam Long flightId,
+            @Parameter(description = "Seat Number (e.g., 1A)", example = "1A") @RequestParam String seatNumber,
+            @Parameter(description = "ID of the user who owns the lock", example = "user-123") @RequestParam String userId) {
+
+        return toLockResponse(seatLockService.extendSeatLock(flightId, seatNumber, userId));
+    }
+
+    @Operation(
+            summary = "Extend locks on several seats atomically (Redis Lua)",
+            description = "Heartbeat for a booking: extends every lock in one round trip, or none of them if any seat is no longer held by the user.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "All locks extended"),
+                    @ApiResponse(responseCode = "409", description = "At least one lock expired or changed hands; nothing was extended")
+            }
+    )
+    @PostMapping("/extend/batch")
+    public ResponseEntity<Boolean> extendSeatLocks(@Valid @RequestBody SeatBatchRequest request) {
+        return toLockResponse(seatLockService.extendSeatLocks(request.getFlightId(), request.getSeatNumbers(), request.getUserId()));
     }
 
     @Operation(
@@ -62,6 +108,15 @@ public class SeatController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(
+            summary = "Confirm all seats of a booking",
+            description = "Finalizes every seat in one transaction (one bulk UPDATE) and releases their locks in one Redis round trip. Fails with 409 if the user no longer holds a seat's lock or another user booked it. Seats the user already booked are skipped; returns how many seats the user now holds as booked."
+    )
+    @PostMapping("/confirm/batch")
+    public ResponseEntity<Integer> confirmSeats(@Valid @RequestBody SeatBatchRequest request) {
+        return ResponseEntity.ok(seatService.confirmSeatBookings(request.getFlightId(), request.getSeatNumbers(), request.getUserId()));
+    }
+
     @Operation(
             summary = "Unlock a seat (Idempotent)",
             description = "Safely removes the Redis lock. Only the user who acquired the lock can release it. Called if Payment Fails or user abandons cart."
@@ -75,4 +130,20 @@ public class SeatController {
         seatLockService.releaseSeatLock(flightId, seatNumber, userId);
         return ResponseEntity.ok("Seat unlocked explicitly (or already expired).");
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Unlock several seats (Idempotent)",
+            description = "Releases every listed seat the user still holds in one Redis round trip. Used by the Booking Saga to compensate cancelled or expired bookings."
+    )
+    @PostMapping("/unlock/batch")
+    public ResponseEntity<Integer> unlockSeats(@Valid @RequestBody SeatBatchRequest request) {
+        return ResponseEntity.ok(seatLockService.releaseSeatLocks(request.getFlightId(), request.getSeatNumbers(), request.getUserId()));
+    }
+
+    // Contention is answered directly with 409/false; no exception round trip through the advice
+    private ResponseEntity<Boolean> toLockResponse(SeatLockResult result) {
+        return result.isSuccess()
+                ? ResponseEntity.ok(true)
+                : ResponseEntity.status(HttpStatus.CONFLICT).body(false);
+    }
+}
@@ -0,0 +1,23 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import com.airlinemanagementsystem.flight.entity.Flight;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AggregatedFlightsResponse {
+    private List<Flight> flights; // null in the streaming "complete" event, where flights were already sent per provider
+    private List<ProviderResult> providers;
+    private long deadlineMs;
+    private long elapsedMs;
+    private boolean partial;
+}
@@ -0,0 +1,18 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightAvailabilityDTO {
+    private Long flightId;
+    private List<SeatClassAvailability> seatClasses;
+    private int totalAvailable;
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
 
 @Data
 @Builder
@@ -22,6 +23,8 @@ public class FlightEvent {
     private Instant departureTime;
     private Double basePrice;
     private FlightStatus status;
+    private Integer availableSeats;
+    private List<SeatClassAvailability> seatAvailability;
     private String eventType;
 
     @Builder.Default
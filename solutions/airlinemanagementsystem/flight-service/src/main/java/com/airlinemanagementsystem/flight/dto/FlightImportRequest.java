@@ -0,0 +1,39 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bulk schedule import: every route is fetched for every date.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightImportRequest {
+
+    @NotEmpty(message = "At least one route is required")
+    private List<@Valid Route> routes;
+
+    @NotEmpty(message = "At least one date is required")
+    private List<LocalDate> dates;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        @NotBlank(message = "Origin is required")
+        private String origin;
+
+        @NotBlank(message = "Destination is required")
+        private String destination;
+    }
+}
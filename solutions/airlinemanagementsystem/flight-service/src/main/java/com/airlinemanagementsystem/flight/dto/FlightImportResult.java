@@ -0,0 +1,23 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightImportResult {
+    private int queries;
+    private int failedQueries;
+    private int offers;
+    private int skippedOffers;   // Unknown airports or unparseable offers
+    private int duplicates;      // Same flight number and departure already in the database or repeated within the import
+    private List<String> skippedDates; // "<flightNumber> <departure>" not imported: the flight number is already scheduled on another date
+    private int imported;
+    private long elapsedMs;
+}
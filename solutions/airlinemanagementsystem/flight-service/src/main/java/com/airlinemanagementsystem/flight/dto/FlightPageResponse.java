@@ -0,0 +1,19 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightPageResponse {
+    private List<FlightSummaryDTO> flights;
+    private int size;
+    // Pass back as ?cursor= to get the next page; null on the last page
+    private String nextCursor;
+}
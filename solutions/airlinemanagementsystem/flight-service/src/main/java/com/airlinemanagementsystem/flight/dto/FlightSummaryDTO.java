@@ -0,0 +1,30 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import com.airlinemanagementsystem.flight.entity.FlightStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Flat projection of a flight for listings; built directly by JPQL so no entities
+ * (or their airports/aircraft) are loaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSummaryDTO {
+    private Long id;
+    private String flightNumber;
+    private String airline;
+    private String sourceAirport;
+    private String destinationAirport;
+    private Instant departureTime;
+    private Instant arrivalTime;
+    private FlightStatus status;
+    private Double basePrice;
+    private Integer availableSeats;
+}
@@ -0,0 +1,21 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import com.airlinemanagementsystem.flight.entity.Flight;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Payload of a "provider" event on the streaming aggregation endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderFlightsEvent {
+    private ProviderResult provider;
+    private List<Flight> flights;
+}
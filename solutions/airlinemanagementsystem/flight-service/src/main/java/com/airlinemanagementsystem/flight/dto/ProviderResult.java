@@ -0,0 +1,21 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import com.airlinemanagementsystem.flight.integration.ProviderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderResult {
+    private String provider;
+    private ProviderStatus status;
+    private long latencyMs;
+    private int flightCount;
+    private String error;
+    private boolean cached;   // Served from the route/date cache without calling the provider
+    private boolean stale;    // Cached answer past its TTL; a refresh was started in the background
+}
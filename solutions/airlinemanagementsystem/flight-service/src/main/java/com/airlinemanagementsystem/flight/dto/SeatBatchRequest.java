@@ -0,0 +1,26 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatBatchRequest {
+    @NotNull(message = "Flight ID is required")
+    private Long flightId;
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotEmpty(message = "At least one seat number is required")
+    private List<String> seatNumbers;
+}
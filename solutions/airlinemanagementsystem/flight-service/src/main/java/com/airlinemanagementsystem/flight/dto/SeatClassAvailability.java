@@ -0,0 +1,19 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import com.airlinemanagementsystem.flight.entity.SeatType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatClassAvailability {
+    private SeatType seatType;
+    private int total;
+    private int booked;
+    private int locked;
+    private int available;
+}
@@ -0,0 +1,20 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of a lock operation. {@code seatNumber} is the seat the status refers to (for a
+ * batch, the first conflicting seat) and {@code owner} the user holding that seat's lock, if any.
+ */
+@Data
+@AllArgsConstructor
+public class SeatLockResult {
+    private SeatLockStatus status;
+    private String seatNumber;
+    private String owner;
+
+    public boolean isSuccess() {
+        return status == SeatLockStatus.ACQUIRED || status == SeatLockStatus.EXTENDED || status == SeatLockStatus.RELEASED;
+    }
+}
@@ -0,0 +1,9 @@
+package com.airlinemanagementsystem.flight.dto;
+
+public enum SeatLockStatus {
+    ACQUIRED,
+    EXTENDED,
+    RELEASED,
+    HELD_BY_OTHER, // Expected under contention, not an error
+    NOT_HELD       // No lock (never taken, expired or already released)
+}
@@ -0,0 +1,21 @@
+package com.airlinemanagementsystem.flight.dto;
+
+import com.airlinemanagementsystem.flight.entity.SeatType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatReleasedEvent {
+    private Long flightId;
+    private String seatNumber;
+    private SeatType seatType;
+    private String reason;
+    private Instant releasedAt;
+}
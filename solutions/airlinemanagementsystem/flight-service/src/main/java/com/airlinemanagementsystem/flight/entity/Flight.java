@@ -17,7 +17,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "flights", indexes = {
-        @Index(name = "idx_flight_search", columnList = "source_airport_id, destination_airport_id, departure_time")
+        @Index(name = "idx_flight_search", columnList = "source_airport_id, destination_airport_id, departure_time"),
+        @Index(name = "idx_flight_departure", columnList = "departure_time, id")
 })
 public class Flight {
     @Id
@@ -62,42 +63,36 @@ public class Flight {
     @Column(name = "base_price")
     private Double basePrice;
 
+    // Maintained counter (capacity minus booked seats) so searches never COUNT over seats
+    @Column(name = "available_seats")
+    private Integer availableSeats;
+
     @OneToMany(mappedBy = "flight", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     @Builder.Default
     @ToString.Exclude
     private List<Seat> seats = new ArrayList<>();
 
-    public void generateSeats() {
-        if (this.aircraft == null || this.basePrice == null) return;
+    /**
+     * Builds the seat map for this flight from the aircraft capacity and base price.
+     * The seats are not attached to {@link #seats}; they are written in bulk by SeatBatchRepository.
+     */
+    public List<Seat> buildSeatPlan() {
+        if (this.aircraft == null || this.basePrice == null) return List.of();
 
-        this.seats.clear();
         int capacity = this.aircraft.getTotalCapacity();
+        List<Seat> seatPlan = new ArrayList<>(capacity);
 
-        for (int i = 1; i <= capacity; i++) {
+        for (int ordinal = 0; ordinal < capacity; ordinal++) {
             Seat seat = new Seat();
             seat.setFlight(this);
             seat.setStatus(SeatStatus.AVAILABLE);
+            seat.setSeatNumber(SeatLayout.seatNumberAt(ordinal));
+            seat.setSeatType(SeatLayout.seatTypeAt(ordinal));
+            seat.setPrice(SeatLayout.priceAt(ordinal, this.basePrice));
 
-            double priceMultiplier = 1.0;
-
-            if (i <= 10) {
-                seat.setSeatNumber("F" + i);
-                seat.setSeatType(SeatType.FIRST);
-                priceMultiplier = 2.5;
-            } else if (i <= 30) {
-                seat.setSeatNumber("B" + i);
-                seat.setSeatType(SeatType.BUSINESS);
-                priceMultiplier = 1.5;
-            } else {
-                seat.setSeatNumber("E" + i);
-                seat.setSeatType(SeatType.ECONOMY);
-                priceMultiplier = 1.0;
-            }
-
-            seat.setPrice(this.basePrice * priceMultiplier);
-
-            this.seats.add(seat);
+            seatPlan.add(seat);
         }
+        return seatPlan;
     }
 }
\ No newline at end of file
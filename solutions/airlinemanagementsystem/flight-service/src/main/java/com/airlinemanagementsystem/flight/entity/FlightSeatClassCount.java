@@ -0,0 +1,38 @@
+package com.airlinemanagementsystem.flight.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalised seat totals per flight and cabin class. Booked seats are counted here in the
+ * same transaction as the seat row update; locked seats live in Redis next to the locks.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "flight_seat_class_counts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_flight_seat_class", columnNames = {"flight_id", "seat_type"})
+})
+public class FlightSeatClassCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "seat_type", nullable = false)
+    private SeatType seatType;
+
+    @Column(name = "total_seats", nullable = false)
+    private int totalSeats;
+
+    @Column(name = "booked_seats", nullable = false)
+    private int bookedSeats;
+}
@@ -11,6 +11,8 @@ import lombok.*;
 @AllArgsConstructor
 @Table(name = "seats", indexes = {
         @Index(name = "idx_flight_seat", columnList = "flight_id, seat_number")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_flight_seat", columnNames = {"flight_id", "seat_number"})
 })
 public class Seat {
 
@@ -40,6 +42,10 @@ public class Seat {
     @Column(nullable = false)
     private Double price;
 
+    // User whose confirmation booked the seat; null while not booked and on rows booked before it was recorded
+    @Column(name = "booked_by")
+    private String bookedBy;
+
     public boolean isAvailable() {
         return SeatStatus.AVAILABLE.equals(this.status);
     }
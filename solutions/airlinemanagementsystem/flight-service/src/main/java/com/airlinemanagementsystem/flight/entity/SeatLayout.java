@@ -0,0 +1,84 @@
+package com.airlinemanagementsystem.flight.entity;
+
+/**
+ * Cabin layout rules shared by seat generation and the in-memory seat inventory.
+ * Seats are addressed by a zero-based ordinal; the seat number is the cabin prefix
+ * followed by the 1-based position (F1..F10, B11..B30, E31..).
+ */
+public final class SeatLayout {
+
+    private static final int FIRST_CLASS_SEATS = 10;
+    private static final int BUSINESS_CLASS_END = 30;
+
+    private SeatLayout() {
+    }
+
+    public static SeatType seatTypeAt(int ordinal) {
+        int position = ordinal + 1;
+        if (position <= FIRST_CLASS_SEATS) return SeatType.FIRST;
+        if (position <= BUSINESS_CLASS_END) return SeatType.BUSINESS;
+        return SeatType.ECONOMY;
+    }
+
+    public static String seatNumberAt(int ordinal) {
+        return String.valueOf(prefixOf(seatTypeAt(ordinal))) + (ordinal + 1);
+    }
+
+    public static double priceAt(int ordinal, double basePrice) {
+        return basePrice * priceMultiplier(seatTypeAt(ordinal));
+    }
+
+    public static double priceMultiplier(SeatType seatType) {
+        return switch (seatType) {
+            case FIRST -> 2.5;
+            case BUSINESS -> 1.5;
+            case ECONOMY -> 1.0;
+        };
+    }
+
+    /**
+     * Number of seats of the given class on an aircraft of the given capacity.
+     */
+    public static int seatsOfType(SeatType seatType, int capacity) {
+        return switch (seatType) {
+            case FIRST -> Math.min(capacity, FIRST_CLASS_SEATS);
+            case BUSINESS -> Math.max(0, Math.min(capacity, BUSINESS_CLASS_END) - FIRST_CLASS_SEATS);
+            case ECONOMY -> Math.max(0, capacity - BUSINESS_CLASS_END);
+        };
+    }
+
+    /**
+     * Seat class of a seat number, or null if the number does not follow the layout.
+     */
+    public static SeatType seatTypeOf(String seatNumber) {
+        int ordinal = ordinalOf(seatNumber);
+        return ordinal < 0 ? null : seatTypeAt(ordinal);
+    }
+
+    /**
+     * Parses a seat number back to its ordinal.
+     * Returns -1 if the number does not follow the layout (wrong prefix for its position, or not
+     * in the canonical form: "F01" or "F+1" would otherwise alias F1 under a different lock key).
+     */
+    public static int ordinalOf(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2 || seatNumber.charAt(1) == '0') return -1;
+
+        int position = 0;
+        for (int i = 1; i < seatNumber.length(); i++) {
+            char digit = seatNumber.charAt(i);
+            if (digit < '0' || digit > '9' || position > (Integer.MAX_VALUE - 9) / 10) return -1;
+            position = position * 10 + (digit - '0');
+        }
+
+        int ordinal = position - 1;
+        return seatNumber.charAt(0) == prefixOf(seatTypeAt(ordinal)) ? ordinal : -1;
+    }
+
+    private static char prefixOf(SeatType seatType) {
+        return switch (seatType) {
+            case FIRST -> 'F';
+            case BUSINESS -> 'B';
+            case ECONOMY -> 'E';
+        };
+    }
+}
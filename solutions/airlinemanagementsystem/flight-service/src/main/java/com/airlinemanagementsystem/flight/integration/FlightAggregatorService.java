@@ -1,15 +1,22 @@
 package com.airlinemanagementsystem.flight.integration;
 
+import com.airlinemanagementsystem.flight.dto.AggregatedFlightsResponse;
 import com.airlinemanagementsystem.flight.entity.Flight;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
@@ -17,28 +24,125 @@ import java.util.stream.Collectors;
 public class FlightAggregatorService {
 
     private final List<ExternalAirlineAdapter> airlineAdapters;
+    private final ProviderExecutorRegistry providerExecutors;
+    private final HedgingInvoker hedgingInvoker;
+    private final ProviderResultCache resultCache;
 
-    public List<Flight> aggregateFlights(String source, String destination, LocalDate date) {
-        log.info("[Aggregator] Initiating Scatter-Gather across {} providers...", airlineAdapters.size());
+    @Value("${flight-service.aggregator.deadline:1500ms}")
+    private Duration defaultDeadline;
+
+    @Value("${flight-service.aggregator.max-deadline:10s}")
+    private Duration maxDeadline;
+
+    /**
+     * Scatter-gather bounded by a deadline: returns whatever the providers produced in time,
+     * with per-provider status and latency. Each provider gets the smaller of the deadline and
+     * its adaptive timeout (see {@link HedgingInvoker}); providers that run over are interrupted
+     * and reported as TIMED_OUT rather than holding up the response.
+     */
+    public AggregatedFlightsResponse aggregateFlights(String source, String destination, LocalDate date, Duration deadline) {
+        return aggregateAsync(source, destination, date, deadline, outcome -> { }).join();
+    }
+
+    public AggregatedFlightsResponse aggregateFlights(String source, String destination, LocalDate date) {
+        return aggregateFlights(source, destination, date, null);
+    }
+
+    /**
+     * Non-blocking form of {@link #aggregateFlights}: {@code onProviderResult} is called as soon as
+     * each provider completes (or is omitted), so callers can stream results instead of waiting for
+     * the slowest provider. The returned future completes with the summary once all providers are in.
+     */
+    public CompletableFuture<AggregatedFlightsResponse> aggregateAsync(String source, String destination, LocalDate date,
+                                                                       Duration deadline, Consumer<ProviderOutcome> onProviderResult) {
+        Duration effectiveDeadline = resolveDeadline(deadline);
+        log.info("[Aggregator] Initiating Scatter-Gather across {} providers (deadline {} ms)...",
+                airlineAdapters.size(), effectiveDeadline.toMillis());
         long startTime = System.currentTimeMillis();
 
-        List<CompletableFuture<List<Flight>>> futures = airlineAdapters.stream()
-                .map(adapter -> CompletableFuture.supplyAsync(() ->
-                        adapter.searchFlights(source, destination, date)
-                ))
+        List<CompletableFuture<ProviderOutcome>> futures = airlineAdapters.stream()
+                .map(adapter -> resultCache.get(adapter.getProviderName(), source, destination, date,
+                                () -> callProvider(adapter, source, destination, date, effectiveDeadline))
+                        .thenApply(outcome -> {
+                            onProviderResult.accept(outcome);
+                            return outcome;
+                        }))
                 .toList();
 
-        CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-        allOf.join();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> summarise(futures.stream().map(CompletableFuture::join).toList(),
+                        effectiveDeadline, startTime));
+    }
 
-        List<Flight> aggregatedFlights = futures.stream()
-                .map(CompletableFuture::join)
+    private AggregatedFlightsResponse summarise(List<ProviderOutcome> outcomes, Duration deadline, long startTime) {
+        List<Flight> aggregatedFlights = outcomes.stream()
+                .map(ProviderOutcome::getFlights)
                 .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+                .toList();
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        log.info("[Aggregator] Finished in {} ms. Total flights found: {}", elapsed, aggregatedFlights.size());
 
-        long endTime = System.currentTimeMillis();
-        log.info("[Aggregator] Finished in {} ms. Total flights found: {}", (endTime - startTime), aggregatedFlights.size());
+        return AggregatedFlightsResponse.builder()
+                .flights(aggregatedFlights)
+                .providers(outcomes.stream().map(ProviderOutcome::getResult).toList())
+                .deadlineMs(deadline.toMillis())
+                .elapsedMs(elapsed)
+                .partial(outcomes.stream().anyMatch(o -> o.getResult().getStatus() != ProviderStatus.OK))
+                .build();
+    }
+
+    public Duration resolveDeadline(Duration requested) {
+        if (requested == null || requested.isNegative() || requested.isZero()) {
+            return defaultDeadline;
+        }
+        return requested.compareTo(maxDeadline) > 0 ? maxDeadline : requested;
+    }
+
+    private CompletableFuture<ProviderOutcome> callProvider(ExternalAirlineAdapter adapter, String source,
+                                                            String destination, LocalDate date, Duration deadline) {
+        String provider = adapter.getProviderName();
+        long startNanos = System.nanoTime();
+
+        CompletableFuture<List<Flight>> flights;
+        try {
+            flights = hedgingInvoker.invoke(adapter, source, destination, date, providerExecutors.executorFor(provider));
+        } catch (RejectedExecutionException e) {
+            log.warn("[Aggregator] {} executor saturated, skipping provider", provider);
+            return CompletableFuture.completedFuture(
+                    ProviderOutcome.omitted(provider, ProviderStatus.REJECTED, 0, "Provider executor saturated"));
+        }
+
+        long timeoutMs = hedgingInvoker.timeoutMillis(provider, deadline);
+        CompletableFuture<ProviderOutcome> outcome = flights
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return ProviderOutcome.ok(provider, elapsedMillis(startNanos), result);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof CallNotPermittedException) {
+                        log.warn("[Aggregator] {} circuit open, skipping provider", provider);
+                        return ProviderOutcome.omitted(provider, ProviderStatus.CIRCUIT_OPEN, elapsedMillis(startNanos), cause.getMessage());
+                    }
+                    log.warn("[Aggregator] {} failed: {}", provider, cause.getMessage());
+                    return ProviderOutcome.omitted(provider, ProviderStatus.FAILED, elapsedMillis(startNanos), cause.getMessage());
+                })
+                .completeOnTimeout(
+                        ProviderOutcome.omitted(provider, ProviderStatus.TIMED_OUT, timeoutMs, "Timed out after " + timeoutMs + " ms"),
+                        timeoutMs, TimeUnit.MILLISECONDS);
+
+        // Free the provider's threads once its answer can no longer be used
+        outcome.thenAccept(result -> {
+            if (result.getResult().getStatus() == ProviderStatus.TIMED_OUT) {
+                log.warn("[Aggregator] {} exceeded {} ms, omitting its results", provider, timeoutMs);
+                hedgingInvoker.recordTimeout(provider, timeoutMs);
+                flights.cancel(true);
+            }
+        });
+        return outcome;
+    }
 
-        return aggregatedFlights;
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
-}
\ No newline at end of file
+}
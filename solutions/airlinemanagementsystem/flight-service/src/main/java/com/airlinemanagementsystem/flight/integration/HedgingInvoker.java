@@ -0,0 +1,179 @@
+package com.airlinemanagementsystem.flight.integration;
+
+import com.airlinemanagementsystem.flight.entity.Flight;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calls an adapter with request hedging: if the primary call is still running after the
+ * provider's observed p95 latency, a backup call is started and the first successful answer
+ * wins (the other is interrupted). Hedges are capped at {@code budget-ratio} of requests so a
+ * struggling provider is not hit with double traffic. Failures are not hedged; the adapters'
+ * circuit breakers own that. A failed attempt never wins: the call only fails once every
+ * attempt has failed, so a fast error cannot beat a slower real answer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HedgingInvoker {
+
+    private final ProviderLatencyTracker latencyTracker;
+    private final Map<String, HedgeBudget> budgets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService hedgeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "provider-hedge-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${flight-service.aggregator.hedging.enabled:true}")
+    private boolean hedgingEnabled;
+
+    @Value("${flight-service.aggregator.hedging.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${flight-service.aggregator.hedging.min-delay:10ms}")
+    private Duration minHedgeDelay;
+
+    @Value("${flight-service.aggregator.hedging.budget-ratio:0.1}")
+    private double budgetRatio;
+
+    @Value("${flight-service.aggregator.adaptive-timeout.percentile:0.99}")
+    private double timeoutPercentile;
+
+    @Value("${flight-service.aggregator.adaptive-timeout.multiplier:2.0}")
+    private double timeoutMultiplier;
+
+    @Value("${flight-service.aggregator.adaptive-timeout.min:100ms}")
+    private Duration minTimeout;
+
+    /**
+     * Starts the call on {@code executor}. Cancelling the returned future interrupts every attempt.
+     *
+     * @throws RejectedExecutionException if the provider's executor cannot take the primary call
+     */
+    public CompletableFuture<List<Flight>> invoke(ExternalAirlineAdapter adapter, String source, String destination,
+                                                  LocalDate date, ExecutorService executor) {
+        String provider = adapter.getProviderName();
+        CompletableFuture<List<Flight>> result = new CompletableFuture<>();
+        List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pendingAttempts = new AtomicInteger(1);
+        HedgeBudget budget = budgets.computeIfAbsent(provider, p -> new HedgeBudget());
+        budget.onRequest();
+
+        attempts.add(submitAttempt(adapter, source, destination, date, executor, result, pendingAttempts));
+
+        OptionalLong hedgeDelay = hedgeDelayMillis(provider);
+        if (hedgeDelay.isPresent()) {
+            attempts.add(hedgeScheduler.schedule(() -> {
+                if (result.isDone() || !budget.tryAcquireHedge(budgetRatio)) {
+                    return;
+                }
+                pendingAttempts.incrementAndGet();
+                try {
+                    attempts.add(submitAttempt(adapter, source, destination, date, executor, result, pendingAttempts));
+                    log.info("[Hedging] {} slower than p{} ({} ms), sent backup request",
+                            provider, Math.round(hedgePercentile * 100), hedgeDelay.getAsLong());
+                } catch (RejectedExecutionException e) {
+                    pendingAttempts.decrementAndGet();
+                    log.debug("[Hedging] {} executor saturated, no backup request", provider);
+                }
+            }, hedgeDelay.getAsLong(), TimeUnit.MILLISECONDS));
+        }
+
+        result.whenComplete((flights, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+        return result;
+    }
+
+    /**
+     * Time budget for one call to {@code provider}: a multiple of its observed p99,
+     * never longer than the caller's deadline.
+     */
+    public long timeoutMillis(String provider, Duration deadline) {
+        OptionalLong tail = latencyTracker.percentile(provider, timeoutPercentile);
+        if (tail.isEmpty()) {
+            return deadline.toMillis();
+        }
+        long adaptive = Math.max(minTimeout.toMillis(), (long) (tail.getAsLong() * timeoutMultiplier));
+        return Math.min(deadline.toMillis(), adaptive);
+    }
+
+    /**
+     * Timed-out calls are recorded at their timeout so the window is not biased towards
+     * fast answers and the adaptive timeout can grow back.
+     */
+    public void recordTimeout(String provider, long timeoutMs) {
+        latencyTracker.record(provider, timeoutMs);
+    }
+
+    private Future<?> submitAttempt(ExternalAirlineAdapter adapter, String source, String destination, LocalDate date,
+                                    ExecutorService executor, CompletableFuture<List<Flight>> result,
+                                    AtomicInteger pendingAttempts) {
+        long startNanos = System.nanoTime();
+        return executor.submit(() -> {
+            try {
+                List<Flight> flights = adapter.searchFlights(source, destination, date);
+                if (result.complete(flights)) {
+                    latencyTracker.record(adapter.getProviderName(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                }
+            } catch (Exception e) {
+                if (pendingAttempts.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private OptionalLong hedgeDelayMillis(String provider) {
+        if (!hedgingEnabled) {
+            return OptionalLong.empty();
+        }
+        OptionalLong p95 = latencyTracker.percentile(provider, hedgePercentile);
+        return p95.isPresent()
+                ? OptionalLong.of(Math.max(minHedgeDelay.toMillis(), p95.getAsLong()))
+                : OptionalLong.empty();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeScheduler.shutdownNow();
+    }
+
+    private static final class HedgeBudget {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong hedges = new AtomicLong();
+
+        void onRequest() {
+            requests.incrementAndGet();
+        }
+
+        boolean tryAcquireHedge(double ratio) {
+            long allowed = Math.max(1, (long) (requests.get() * ratio));
+            if (hedges.incrementAndGet() > allowed) {
+                hedges.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+    }
+}
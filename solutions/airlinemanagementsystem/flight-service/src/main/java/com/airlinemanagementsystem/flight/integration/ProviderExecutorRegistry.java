@@ -0,0 +1,61 @@
+package com.airlinemanagementsystem.flight.integration;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One bounded thread pool per external provider (bulkhead). Adapters block on I/O, so
+ * running them on the common ForkJoinPool let a slow provider starve everything else;
+ * here a saturated provider only rejects its own calls.
+ */
+@Slf4j
+@Component
+public class ProviderExecutorRegistry {
+
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final int poolSize;
+    private final int queueCapacity;
+
+    public ProviderExecutorRegistry(List<ExternalAirlineAdapter> airlineAdapters,
+                                    @Value("${flight-service.aggregator.provider-pool-size:8}") int poolSize,
+                                    @Value("${flight-service.aggregator.provider-queue-capacity:32}") int queueCapacity) {
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        airlineAdapters.forEach(adapter -> executorFor(adapter.getProviderName()));
+    }
+
+    public ExecutorService executorFor(String provider) {
+        return executors.computeIfAbsent(provider, this::newExecutor);
+    }
+
+    private ExecutorService newExecutor(String provider) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "provider-" + provider + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        log.info("[Aggregator] Executor for {}: {} threads, queue {}", provider, poolSize, queueCapacity);
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdownNow);
+    }
+}
@@ -0,0 +1,66 @@
+package com.airlinemanagementsystem.flight.integration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rolling latency window per provider (the last {@code window-size} calls).
+ * Percentiles are only reported once {@code min-samples} calls have been seen,
+ * so a cold provider is never hedged or timed out on guesswork.
+ */
+@Component
+public class ProviderLatencyTracker {
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    @Value("${flight-service.aggregator.latency.window-size:256}")
+    private int windowSize;
+
+    @Value("${flight-service.aggregator.latency.min-samples:20}")
+    private int minSamples;
+
+    public void record(String provider, long latencyMs) {
+        windows.computeIfAbsent(provider, p -> new LatencyWindow(windowSize)).record(latencyMs);
+    }
+
+    public OptionalLong percentile(String provider, double quantile) {
+        LatencyWindow window = windows.get(provider);
+        if (window == null) {
+            return OptionalLong.empty();
+        }
+
+        long[] samples = window.snapshot();
+        if (samples.length < minSamples) {
+            return OptionalLong.empty();
+        }
+
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(quantile * samples.length) - 1;
+        return OptionalLong.of(samples[Math.max(0, Math.min(index, samples.length - 1))]);
+    }
+
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        private LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long latencyMs) {
+            samples[next] = latencyMs;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(samples, count);
+        }
+    }
+}
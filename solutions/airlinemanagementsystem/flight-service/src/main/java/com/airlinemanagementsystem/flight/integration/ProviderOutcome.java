@@ -0,0 +1,37 @@
+package com.airlinemanagementsystem.flight.integration;
+
+import com.airlinemanagementsystem.flight.dto.ProviderResult;
+import com.airlinemanagementsystem.flight.entity.Flight;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One provider's share of a scatter-gather: the flights it returned (empty unless OK)
+ * and the metadata reported to the client.
+ */
+@Getter
+@AllArgsConstructor
+public class ProviderOutcome {
+    private final ProviderResult result;
+    private final List<Flight> flights;
+
+    static ProviderOutcome ok(String provider, long latencyMs, List<Flight> flights) {
+        return new ProviderOutcome(ProviderResult.builder()
+                .provider(provider)
+                .status(ProviderStatus.OK)
+                .latencyMs(latencyMs)
+                .flightCount(flights.size())
+                .build(), flights);
+    }
+
+    static ProviderOutcome omitted(String provider, ProviderStatus status, long latencyMs, String error) {
+        return new ProviderOutcome(ProviderResult.builder()
+                .provider(provider)
+                .status(status)
+                .latencyMs(latencyMs)
+                .error(error)
+                .build(), List.of());
+    }
+}
@@ -0,0 +1,121 @@
+package com.airlinemanagementsystem.flight.integration;
+
+import com.airlinemanagementsystem.flight.config.AggregatorCacheProperties;
+import com.airlinemanagementsystem.flight.dto.ProviderResult;
+import com.airlinemanagementsystem.flight.entity.Flight;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of provider answers keyed by (provider, route, date), with per-provider TTLs.
+ * <ul>
+ *   <li>fresh entry: served without calling the provider</li>
+ *   <li>stale entry (past TTL, within the stale window): served immediately while one background refresh runs</li>
+ *   <li>miss: concurrent callers for the same key share a single upstream call</li>
+ * </ul>
+ * Only OK answers are cached; failures, open circuits and timeouts always go back to the provider.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProviderResultCache {
+
+    private final AggregatorCacheProperties properties;
+    private final Map<String, CompletableFuture<ProviderOutcome>> inFlight = new ConcurrentHashMap<>();
+    private Map<String, CachedFlights> entries;
+
+    @PostConstruct
+    void init() {
+        int maxEntries = properties.getMaxEntries();
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedFlights> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public CompletableFuture<ProviderOutcome> get(String provider, String source, String destination, LocalDate date,
+                                                  Supplier<CompletableFuture<ProviderOutcome>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        String key = cacheKey(provider, source, destination, date);
+        CachedFlights cached = entries.get(key);
+
+        if (cached != null) {
+            long age = System.currentTimeMillis() - cached.fetchedAtMillis;
+            long ttl = properties.ttlFor(provider).toMillis();
+
+            if (age < ttl) {
+                return CompletableFuture.completedFuture(cached.toOutcome(provider, false));
+            }
+            if (age < ttl + properties.getStaleWindow().toMillis()) {
+                log.debug("[Aggregator Cache] Serving stale {} and revalidating", key);
+                load(key, loader);
+                return CompletableFuture.completedFuture(cached.toOutcome(provider, true));
+            }
+        }
+        return load(key, loader);
+    }
+
+    private CompletableFuture<ProviderOutcome> load(String key, Supplier<CompletableFuture<ProviderOutcome>> loader) {
+        CompletableFuture<ProviderOutcome> pending = new CompletableFuture<>();
+        CompletableFuture<ProviderOutcome> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            return existing;
+        }
+
+        loader.get().whenComplete((outcome, error) -> {
+            if (error == null && outcome.getResult().getStatus() == ProviderStatus.OK) {
+                entries.put(key, new CachedFlights(outcome.getFlights(), System.currentTimeMillis()));
+            }
+            inFlight.remove(key, pending);
+
+            if (error != null) {
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(outcome);
+            }
+        });
+        return pending;
+    }
+
+    private static String cacheKey(String provider, String source, String destination, LocalDate date) {
+        return provider + "::" + source.toUpperCase(Locale.ROOT) + "::" + destination.toUpperCase(Locale.ROOT) + "::" + date;
+    }
+
+    private static final class CachedFlights {
+        private final List<Flight> flights;
+        private final long fetchedAtMillis;
+
+        private CachedFlights(List<Flight> flights, long fetchedAtMillis) {
+            this.flights = List.copyOf(flights);
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+
+        ProviderOutcome toOutcome(String provider, boolean stale) {
+            return new ProviderOutcome(ProviderResult.builder()
+                    .provider(provider)
+                    .status(ProviderStatus.OK)
+                    .latencyMs(0)
+                    .flightCount(flights.size())
+                    .cached(true)
+                    .stale(stale)
+                    .build(), flights);
+        }
+    }
+}
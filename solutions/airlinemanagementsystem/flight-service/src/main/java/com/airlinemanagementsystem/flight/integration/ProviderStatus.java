@@ -0,0 +1,9 @@
+package com.airlinemanagementsystem.flight.integration;
+
+public enum ProviderStatus {
+    OK,
+    FAILED,       // Adapter threw (every attempt, when the call was hedged)
+    CIRCUIT_OPEN, // Adapter's circuit breaker is open, the provider was not called
+    TIMED_OUT,    // Missed the request deadline; its results are omitted
+    REJECTED      // Provider's executor was saturated, the call was never started
+}
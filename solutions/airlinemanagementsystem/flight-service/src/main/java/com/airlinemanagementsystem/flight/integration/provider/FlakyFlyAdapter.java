@@ -12,7 +12,6 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
@@ -28,7 +27,8 @@ public class FlakyFlyAdapter implements ExternalAirlineAdapter {
     }
 
     @Override
-    @CircuitBreaker(name = "flakyFly", fallbackMethod = "fallbackEmptyFlights")
+    // No fallback: errors and an open circuit must reach the aggregator as failures, not as an empty answer
+    @CircuitBreaker(name = "flakyFly")
     public List<Flight> searchFlights(String source, String destination, LocalDate date) {
         log.info("[FlakyFly] Searching flights from {} to {}...", source, destination);
         if (random.nextInt(100) < 20) {
@@ -39,11 +39,6 @@ public class FlakyFlyAdapter implements ExternalAirlineAdapter {
         return List.of(createMockFlight("FF-777", "FlakyFly", source, destination, date, 85.0));
     }
 
-    public List<Flight> fallbackEmptyFlights(String source, String destination, LocalDate date, Throwable t) {
-        log.warn("[FlakyFly Fallback] API Failed or Circuit Open! Returning empty list. Error: {}", t.getMessage());
-        return Collections.emptyList();
-    }
-
     private Flight createMockFlight(String number, String airline, String src, String dest, LocalDate date, Double price) {
         Airport sourceAirport = new Airport();
         Airport destAirport = new Airport();
@@ -12,7 +12,6 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -25,7 +24,8 @@ public class SlowJetAdapter implements ExternalAirlineAdapter {
     }
 
     @Override
-    @CircuitBreaker(name = "slowJet", fallbackMethod = "fallbackEmptyFlights")
+    // No fallback: errors and an open circuit must reach the aggregator as failures, not as an empty answer
+    @CircuitBreaker(name = "slowJet")
     public List<Flight> searchFlights(String source, String destination, LocalDate date) {
         log.info("🐢 [SlowJet] Searching flights from {} to {} (This will take 3 seconds...)", source, destination);
 
@@ -39,11 +39,6 @@ public class SlowJetAdapter implements ExternalAirlineAdapter {
         return List.of(createMockFlight("SJ-999", "SlowJet", source, destination, date, 110.0));
     }
 
-    public List<Flight> fallbackEmptyFlights(String source, String destination, LocalDate date, Throwable t) {
-        log.warn("[SlowJet Fallback] Circuit Open or Timeout! Returning empty list. Error: {}", t.getMessage());
-        return Collections.emptyList();
-    }
-
     private Flight createMockFlight(String number, String airline, String src, String dest, LocalDate date, Double price) {
         Airport sourceAirport = new Airport();
         Airport destAirport = new Airport();
@@ -0,0 +1,189 @@
+package com.airlinemanagementsystem.flight.inventory;
+
+import com.airlinemanagementsystem.flight.dto.SeatResponseDTO;
+import com.airlinemanagementsystem.flight.entity.Seat;
+import com.airlinemanagementsystem.flight.entity.SeatLayout;
+import com.airlinemanagementsystem.flight.entity.SeatStatus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compact in-memory seat map for one flight, indexed by seat ordinal (see {@link SeatLayout}).
+ * Persisted state lives in primitive arrays, lock state in a bitset plus an expiry array,
+ * so a 450-seat wide-body costs a few KB and a seat map read touches no network.
+ * Seats without a row in MySQL (lazy materialisation) are reported with a null seatId.
+ */
+public class FlightSeatInventory {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    private final Long flightId;
+    private final int capacity;
+    private final long loadedAtMillis;
+    private volatile long lastAccessMillis;
+
+    private final BitSet present;
+    private final BitSet persisted;
+    private final long[] seatIds;
+    private final double[] prices;
+    private final byte[] statuses;
+
+    private final BitSet locked;
+    private final long[] lockExpiresAtMillis;
+
+    private FlightSeatInventory(Long flightId, int capacity, long loadedAtMillis) {
+        this.flightId = flightId;
+        this.capacity = capacity;
+        this.loadedAtMillis = loadedAtMillis;
+        this.lastAccessMillis = loadedAtMillis;
+        this.present = new BitSet(capacity);
+        this.persisted = new BitSet(capacity);
+        this.seatIds = new long[capacity];
+        this.prices = new double[capacity];
+        this.statuses = new byte[capacity];
+        this.locked = new BitSet(capacity);
+        this.lockExpiresAtMillis = new long[capacity];
+    }
+
+    /**
+     * Builds the inventory from the flight definition. Every seat of the layout starts out
+     * AVAILABLE at its derived price; persisted rows (booked seats, or the full map for
+     * eagerly materialised flights) override the synthesised entries.
+     */
+    public static FlightSeatInventory forFlight(Long flightId, int layoutCapacity, Double basePrice,
+                                                List<Seat> persistedSeats, long nowMillis) {
+        int capacity = basePrice == null ? 0 : layoutCapacity;
+        for (Seat seat : persistedSeats) {
+            capacity = Math.max(capacity, SeatLayout.ordinalOf(seat.getSeatNumber()) + 1);
+        }
+
+        FlightSeatInventory inventory = new FlightSeatInventory(flightId, capacity, nowMillis);
+
+        if (basePrice != null) {
+            byte available = (byte) SeatStatus.AVAILABLE.ordinal();
+            for (int ordinal = 0; ordinal < layoutCapacity; ordinal++) {
+                inventory.present.set(ordinal);
+                inventory.prices[ordinal] = SeatLayout.priceAt(ordinal, basePrice);
+                inventory.statuses[ordinal] = available;
+            }
+        }
+
+        for (Seat seat : persistedSeats) {
+            int ordinal = SeatLayout.ordinalOf(seat.getSeatNumber());
+            if (ordinal < 0) continue;
+
+            inventory.present.set(ordinal);
+            inventory.persisted.set(ordinal);
+            inventory.seatIds[ordinal] = seat.getSeatId();
+            inventory.prices[ordinal] = seat.getPrice();
+            inventory.statuses[ordinal] = (byte) seat.getStatus().ordinal();
+        }
+        return inventory;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public boolean isExpired(long nowMillis, long ttlMillis) {
+        return nowMillis - loadedAtMillis >= ttlMillis;
+    }
+
+    public void touch(long nowMillis) {
+        this.lastAccessMillis = nowMillis;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    public synchronized void markLocked(String seatNumber, long expiresAtMillis) {
+        int ordinal = indexOf(seatNumber);
+        if (ordinal < 0) return;
+
+        locked.set(ordinal);
+        lockExpiresAtMillis[ordinal] = expiresAtMillis;
+    }
+
+    public synchronized void markUnlocked(String seatNumber) {
+        int ordinal = indexOf(seatNumber);
+        if (ordinal < 0) return;
+
+        locked.clear(ordinal);
+        lockExpiresAtMillis[ordinal] = 0L;
+    }
+
+    public synchronized void markBooked(String seatNumber) {
+        int ordinal = indexOf(seatNumber);
+        if (ordinal < 0) return;
+
+        statuses[ordinal] = (byte) SeatStatus.BOOKED.ordinal();
+        locked.clear(ordinal);
+        lockExpiresAtMillis[ordinal] = 0L;
+    }
+
+    /**
+     * Seat numbers whose persisted status is AVAILABLE, i.e. the only seats a Redis lock can change.
+     */
+    public synchronized List<String> availableSeatNumbers() {
+        List<String> seatNumbers = new ArrayList<>();
+        byte available = (byte) SeatStatus.AVAILABLE.ordinal();
+
+        for (int ordinal = present.nextSetBit(0); ordinal >= 0; ordinal = present.nextSetBit(ordinal + 1)) {
+            if (statuses[ordinal] == available) {
+                seatNumbers.add(SeatLayout.seatNumberAt(ordinal));
+            }
+        }
+        return seatNumbers;
+    }
+
+    /**
+     * Replaces the local lock state of all AVAILABLE seats with an authoritative snapshot from Redis.
+     */
+    public synchronized void syncLocks(Set<String> lockedSeatNumbers, long expiresAtMillis) {
+        byte available = (byte) SeatStatus.AVAILABLE.ordinal();
+
+        for (int ordinal = present.nextSetBit(0); ordinal >= 0; ordinal = present.nextSetBit(ordinal + 1)) {
+            if (statuses[ordinal] != available) continue;
+
+            if (lockedSeatNumbers.contains(SeatLayout.seatNumberAt(ordinal))) {
+                locked.set(ordinal);
+                lockExpiresAtMillis[ordinal] = expiresAtMillis;
+            } else {
+                locked.clear(ordinal);
+                lockExpiresAtMillis[ordinal] = 0L;
+            }
+        }
+    }
+
+    /**
+     * Builds the seat map. AVAILABLE seats holding an unexpired lock are reported as LOCKED.
+     */
+    public synchronized List<SeatResponseDTO> toSeatMap(long nowMillis) {
+        List<SeatResponseDTO> seatMap = new ArrayList<>(present.cardinality());
+
+        for (int ordinal = present.nextSetBit(0); ordinal >= 0; ordinal = present.nextSetBit(ordinal + 1)) {
+            SeatStatus status = STATUSES[statuses[ordinal]];
+            if (status == SeatStatus.AVAILABLE && locked.get(ordinal) && lockExpiresAtMillis[ordinal] > nowMillis) {
+                status = SeatStatus.LOCKED;
+            }
+
+            seatMap.add(SeatResponseDTO.builder()
+                    .seatId(persisted.get(ordinal) ? seatIds[ordinal] : null)
+                    .seatNumber(SeatLayout.seatNumberAt(ordinal))
+                    .seatType(SeatLayout.seatTypeAt(ordinal))
+                    .status(status)
+                    .price(prices[ordinal])
+                    .build());
+        }
+        return seatMap;
+    }
+
+    private int indexOf(String seatNumber) {
+        int ordinal = SeatLayout.ordinalOf(seatNumber);
+        return ordinal < capacity && ordinal >= 0 && present.get(ordinal) ? ordinal : -1;
+    }
+}
@@ -0,0 +1,137 @@
+package com.airlinemanagementsystem.flight.inventory;
+
+import com.airlinemanagementsystem.flight.entity.Seat;
+import com.airlinemanagementsystem.flight.repository.FlightRepository;
+import com.airlinemanagementsystem.flight.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link FlightSeatInventory} per flight.
+ * Inventories are built from the flight definition plus any persisted seat rows on first read, kept in sync by the lock/confirm paths,
+ * and reloaded after the TTL so changes made by other instances are picked up.
+ * At most max-flights inventories are held; expired ones go first, then the least recently read.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatInventoryService {
+
+    private final SeatRepository seatRepository;
+    private final FlightRepository flightRepository;
+    private final Map<Long, FlightSeatInventory> inventories = new ConcurrentHashMap<>();
+
+    @Value("${flight-service.seat-inventory.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${flight-service.seat-inventory.max-flights:5000}")
+    private int maxFlights;
+
+    /**
+     * Returns the cached inventory, loading it if absent or expired.
+     * Concurrent readers of the same flight share a single load.
+     */
+    public FlightSeatInventory getInventory(Long flightId) {
+        long now = System.currentTimeMillis();
+
+        FlightSeatInventory current = inventories.get(flightId);
+        if (current != null && !current.isExpired(now, ttl.toMillis())) {
+            current.touch(now);
+            return current;
+        }
+
+        if (current == null && inventories.size() >= maxFlights) {
+            evictExpired(now);
+            evictLeastRecentlyUsed();
+        }
+
+        return inventories.compute(flightId, (id, existing) -> {
+            if (existing != null && !existing.isExpired(now, ttl.toMillis())) {
+                existing.touch(now);
+                return existing;
+            }
+            log.debug("Loading seat inventory for Flight {}", id);
+            return loadInventory(id, now);
+        });
+    }
+
+    public void onSeatLocked(Long flightId, String seatNumber, long expiresAtMillis) {
+        FlightSeatInventory inventory = inventories.get(flightId);
+        if (inventory != null) {
+            inventory.markLocked(seatNumber, expiresAtMillis);
+        }
+    }
+
+    public void onSeatReleased(Long flightId, String seatNumber) {
+        FlightSeatInventory inventory = inventories.get(flightId);
+        if (inventory != null) {
+            inventory.markUnlocked(seatNumber);
+        }
+    }
+
+    /**
+     * Applied after commit when called inside a transaction, so a rolled-back
+     * confirmation never shows up as BOOKED in the cached seat map.
+     */
+    public void onSeatBooked(Long flightId, String seatNumber) {
+        Runnable apply = () -> {
+            FlightSeatInventory inventory = inventories.get(flightId);
+            if (inventory != null) {
+                inventory.markBooked(seatNumber);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    public void evict(Long flightId) {
+        inventories.remove(flightId);
+    }
+
+    private FlightSeatInventory loadInventory(Long flightId, long now) {
+        List<Seat> persistedSeats = seatRepository.findByFlightId(flightId);
+
+        return flightRepository.findById(flightId)
+                .map(flight -> FlightSeatInventory.forFlight(flightId,
+                        flight.getAircraft() == null ? 0 : flight.getAircraft().getTotalCapacity(),
+                        flight.getBasePrice(), persistedSeats, now))
+                .orElseGet(() -> FlightSeatInventory.forFlight(flightId, 0, null, persistedSeats, now));
+    }
+
+    private void evictExpired(long now) {
+        inventories.values().removeIf(inventory -> inventory.isExpired(now, ttl.toMillis()));
+    }
+
+    // Still full after the sweep: every entry is live, so drop the least recently read ones
+    private void evictLeastRecentlyUsed() {
+        while (inventories.size() >= maxFlights) {
+            Optional<Map.Entry<Long, FlightSeatInventory>> eldest = inventories.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().getLastAccessMillis()));
+            if (eldest.isEmpty()) {
+                return;
+            }
+            inventories.remove(eldest.get().getKey(), eldest.get().getValue());
+            log.debug("Seat inventory full ({} flights); evicted Flight {}", maxFlights, eldest.get().getKey());
+        }
+    }
+}
@@ -10,4 +10,5 @@ import java.util.Optional;
 public interface AircraftRepository extends JpaRepository<Aircraft, Long> {
     Optional<Aircraft> findByTailNumber(String tailNumber);
     Optional<Aircraft> findFirstByTailNumberStartingWith(String prefix);
+    Optional<Aircraft> findFirstByOrderByAircraftIdAsc();
 }
@@ -0,0 +1,60 @@
+package com.airlinemanagementsystem.flight.repository;
+
+import com.airlinemanagementsystem.flight.entity.Flight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * JDBC batch write path for flights, used by the bulk import.
+ * Same reasoning as {@link SeatBatchRepository}: IDENTITY ids keep Hibernate from batching.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FlightBatchRepository {
+
+    private static final String INSERT_FLIGHT_SQL =
+            "INSERT INTO flights (airline, version, flight_number, source_airport_id, destination_airport_id, " +
+            "departure_time, arrival_time, status, aircraft_id, base_price, available_seats) VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${flight-service.flight-batch-size:500}")
+    private int batchSize;
+
+    public void insertAll(List<Flight> flights) {
+        jdbcTemplate.batchUpdate(INSERT_FLIGHT_SQL, flights, batchSize, (ps, flight) -> {
+            ps.setString(1, flight.getAirline());
+            ps.setString(2, flight.getFlightNumber());
+            ps.setLong(3, flight.getSourceAirport().getId());
+            ps.setLong(4, flight.getDestinationAirport().getId());
+            ps.setTimestamp(5, utc(flight.getDepartureTime()), utcCalendar());
+            ps.setTimestamp(6, utc(flight.getArrivalTime()), utcCalendar());
+            ps.setString(7, flight.getStatus().name());
+            if (flight.getAircraft() != null) {
+                ps.setLong(8, flight.getAircraft().getAircraftId());
+            } else {
+                ps.setNull(8, Types.BIGINT);
+            }
+            ps.setDouble(9, flight.getBasePrice());
+            ps.setInt(10, flight.getAircraft() == null ? 0 : flight.getAircraft().getTotalCapacity());
+        });
+    }
+
+    // Hibernate stores Instant columns normalised to UTC; write them the same way
+    static Timestamp utc(Instant instant) {
+        return Timestamp.from(instant);
+    }
+
+    static Calendar utcCalendar() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.airlinemanagementsystem.flight.repository;
+
+import com.airlinemanagementsystem.flight.entity.FlightOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class FlightOutboxBatchRepository {
+
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO flight_outbox (topic, message_key, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<FlightOutboxEvent> events) {
+        if (events.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getTopic());
+            ps.setString(2, event.getMessageKey());
+            ps.setString(3, event.getEventType());
+            ps.setString(4, event.getPayload());
+            ps.setTimestamp(5, FlightBatchRepository.utc(event.getCreatedAt()), FlightBatchRepository.utcCalendar());
+        });
+    }
+}
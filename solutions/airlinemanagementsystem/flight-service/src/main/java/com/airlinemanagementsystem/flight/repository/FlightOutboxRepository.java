@@ -0,0 +1,24 @@
+package com.airlinemanagementsystem.flight.repository;
+
+import com.airlinemanagementsystem.flight.entity.FlightOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FlightOutboxRepository extends JpaRepository<FlightOutboxEvent, Long> {
+
+    // Locking read: waits out a previous relay's uncommitted delete instead of re-sending those rows
+    @Query(value = "SELECT * FROM flight_outbox ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<FlightOutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    // MySQL named lock, held by the connection: only one instance relays at a time, and it is freed if the instance dies
+    @Query(value = "SELECT GET_LOCK(:name, 0)", nativeQuery = true)
+    Integer tryAcquireRelayLock(@Param("name") String name);
+
+    @Query(value = "SELECT RELEASE_LOCK(:name)", nativeQuery = true)
+    Integer releaseRelayLock(@Param("name") String name);
+}
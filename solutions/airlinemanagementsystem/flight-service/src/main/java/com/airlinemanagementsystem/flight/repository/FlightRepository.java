@@ -1,18 +1,37 @@
 package com.airlinemanagementsystem.flight.repository;
 
+import com.airlinemanagementsystem.flight.dto.FlightSummaryDTO;
 import com.airlinemanagementsystem.flight.entity.Flight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, JpaSpecificationExecutor<Flight> {
 
     boolean existsByFlightNumberAndDepartureTime(String flightNumber, Instant departureTime);
 
+    // Returns [flightNumber, departureTime] pairs; the bulk import tells exact duplicates from other dates with them
+    @Query("SELECT f.flightNumber, f.departureTime FROM Flight f WHERE f.flightNumber IN :flightNumbers")
+    List<Object[]> findDepartureTimesByFlightNumbers(@Param("flightNumbers") Collection<String> flightNumbers);
+
+    // Returns [flightNumber, id] pairs; used to pick up ids after a JDBC batch insert
+    @Query("SELECT f.flightNumber, f.id FROM Flight f WHERE f.flightNumber IN :flightNumbers")
+    List<Object[]> findIdsByFlightNumbers(@Param("flightNumbers") Collection<String> flightNumbers);
+
     /**
      * KEPT: Get All Flights (Admin API)
      * We MUST override this to force eager loading of the Aircraft and Airports
@@ -21,4 +40,42 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     @Override
     @EntityGraph(attributePaths = {"sourceAirport", "destinationAirport", "aircraft"})
     List<Flight> findAll();
+
+    String SUMMARY_SELECT = "SELECT new com.airlinemanagementsystem.flight.dto.FlightSummaryDTO(" +
+            "f.id, f.flightNumber, f.airline, s.code, d.code, f.departureTime, f.arrivalTime, f.status, f.basePrice, f.availableSeats) " +
+            "FROM Flight f JOIN f.sourceAirport s JOIN f.destinationAirport d ";
+
+    /**
+     * Keyset pagination on (departureTime, id), served by idx_flight_departure.
+     * Unlike OFFSET paging, every page costs the same no matter how deep the client goes.
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY f.departureTime, f.id")
+    List<FlightSummaryDTO> findFirstSummaries(Limit limit);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE f.departureTime > :departureTime OR (f.departureTime = :departureTime AND f.id > :id) " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightSummaryDTO> findSummariesAfter(@Param("departureTime") Instant departureTime,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    /**
+     * Whole table as a forward-only stream. A fetch size of Integer.MIN_VALUE makes MySQL
+     * Connector/J stream rows instead of buffering the result set; must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SUMMARY_SELECT + "ORDER BY f.departureTime, f.id")
+    Stream<FlightSummaryDTO> streamAllSummaries();
+
+    // Bulk update: skips @Version on purpose so bookings never conflict with status changes
+    @Modifying
+    @Query("UPDATE Flight f SET f.availableSeats = f.availableSeats - :seats WHERE f.id = :flightId AND f.availableSeats >= :seats")
+    int decrementAvailableSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
+
+    @Modifying
+    @Query(value = "UPDATE flights f LEFT JOIN aircrafts a ON a.aircraft_id = f.aircraft_id " +
+            "SET f.available_seats = COALESCE(a.total_capacity, 0) - " +
+            "(SELECT COUNT(*) FROM seats s WHERE s.flight_id = f.id AND s.status = 'BOOKED') " +
+            "WHERE f.available_seats IS NULL", nativeQuery = true)
+    int backfillAvailableSeats();
 }
\ No newline at end of file
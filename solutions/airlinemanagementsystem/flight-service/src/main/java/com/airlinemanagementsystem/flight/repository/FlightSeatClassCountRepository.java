@@ -0,0 +1,44 @@
+package com.airlinemanagementsystem.flight.repository;
+
+import com.airlinemanagementsystem.flight.entity.FlightSeatClassCount;
+import com.airlinemanagementsystem.flight.entity.SeatType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FlightSeatClassCountRepository extends JpaRepository<FlightSeatClassCount, Long> {
+
+    List<FlightSeatClassCount> findByFlightId(Long flightId);
+
+    List<FlightSeatClassCount> findByFlightIdIn(Collection<Long> flightIds);
+
+    // Guarded like FlightRepository.decrementAvailableSeats: 0 rows means no counter or not enough seats left
+    @Modifying
+    @Query("UPDATE FlightSeatClassCount c SET c.bookedSeats = c.bookedSeats + :seats " +
+            "WHERE c.flightId = :flightId AND c.seatType = :seatType AND c.bookedSeats + :seats <= c.totalSeats")
+    int incrementBooked(@Param("flightId") Long flightId, @Param("seatType") SeatType seatType, @Param("seats") int seats);
+
+    /**
+     * Creates counters for flights that predate them. The class split mirrors SeatLayout
+     * (10 FIRST, 20 BUSINESS, rest ECONOMY); booked counts come from existing seat rows.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO flight_seat_class_counts (flight_id, seat_type, total_seats, booked_seats) " +
+            "SELECT f.id, t.seat_type, " +
+            "  CASE t.seat_type " +
+            "    WHEN 'FIRST' THEN LEAST(COALESCE(a.total_capacity, 0), 10) " +
+            "    WHEN 'BUSINESS' THEN GREATEST(LEAST(COALESCE(a.total_capacity, 0), 30) - 10, 0) " +
+            "    ELSE GREATEST(COALESCE(a.total_capacity, 0) - 30, 0) END, " +
+            "  (SELECT COUNT(*) FROM seats s WHERE s.flight_id = f.id AND s.seat_type = t.seat_type AND s.status = 'BOOKED') " +
+            "FROM flights f " +
+            "LEFT JOIN aircrafts a ON a.aircraft_id = f.aircraft_id " +
+            "CROSS JOIN (SELECT 'FIRST' AS seat_type UNION ALL SELECT 'BUSINESS' UNION ALL SELECT 'ECONOMY') t " +
+            "WHERE NOT EXISTS (SELECT 1 FROM flight_seat_class_counts c WHERE c.flight_id = f.id)", nativeQuery = true)
+    int backfillMissing();
+}
@@ -0,0 +1,49 @@
+package com.airlinemanagementsystem.flight.repository;
+
+import com.airlinemanagementsystem.flight.entity.Airport;
+import com.airlinemanagementsystem.flight.entity.Flight;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Filters for FlightService.queryFlights. Optional criteria return null, which
+ * Specification.and() ignores.
+ */
+public final class FlightSpecifications {
+
+    private FlightSpecifications() {
+    }
+
+    // Compares the FK columns directly so MySQL can use idx_flight_search
+    public static Specification<Flight> onRoute(Airport source, Airport destination) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("sourceAirport"), source),
+                cb.equal(root.get("destinationAirport"), destination));
+    }
+
+    public static Specification<Flight> departingOn(LocalDate date) {
+        Instant from = date.atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant to = date.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("departureTime"), from),
+                cb.lessThan(root.get("departureTime"), to));
+    }
+
+    public static Specification<Flight> maxPrice(Double maxPrice) {
+        if (maxPrice == null) return null;
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("basePrice"), maxPrice);
+    }
+
+    public static Specification<Flight> airline(String airlineName) {
+        if (airlineName == null || airlineName.isBlank()) return null;
+        return (root, query, cb) -> cb.equal(root.get("airline"), airlineName);
+    }
+
+    public static Specification<Flight> minAvailableSeats(Integer minAvailableSeats) {
+        if (minAvailableSeats == null) return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("availableSeats"), minAvailableSeats);
+    }
+}
@@ -0,0 +1,47 @@
+package com.airlinemanagementsystem.flight.repository;
+
+import com.airlinemanagementsystem.flight.entity.Aircraft;
+import com.airlinemanagementsystem.flight.entity.Airport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JDBC batch inserts for the reference data seeder (IDENTITY ids keep Hibernate from batching).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReferenceDataBatchRepository {
+
+    private static final String INSERT_AIRPORT_SQL =
+            "INSERT INTO airports (code, name, city, country, timezone_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_AIRCRAFT_SQL =
+            "INSERT INTO aircrafts (tail_number, model, total_capacity) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAirports(List<Airport> airports) {
+        if (airports.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_AIRPORT_SQL, airports, airports.size(), (ps, airport) -> {
+            ps.setString(1, airport.getCode());
+            ps.setString(2, airport.getName());
+            ps.setString(3, airport.getCity());
+            ps.setString(4, airport.getCountry());
+            ps.setString(5, airport.getTimezoneId());
+        });
+    }
+
+    public void insertAircraft(List<Aircraft> aircraft) {
+        if (aircraft.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_AIRCRAFT_SQL, aircraft, aircraft.size(), (ps, entry) -> {
+            ps.setString(1, entry.getTailNumber());
+            ps.setString(2, entry.getModel());
+            ps.setInt(3, entry.getTotalCapacity());
+        });
+    }
+}
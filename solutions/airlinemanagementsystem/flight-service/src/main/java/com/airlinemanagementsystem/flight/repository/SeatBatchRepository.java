@@ -0,0 +1,60 @@
+package com.airlinemanagementsystem.flight.repository;
+
+import com.airlinemanagementsystem.flight.entity.Flight;
+import com.airlinemanagementsystem.flight.entity.Seat;
+import com.airlinemanagementsystem.flight.entity.SeatLayout;
+import com.airlinemanagementsystem.flight.entity.SeatType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC write path for seat rows.
+ * Seat uses IDENTITY ids, which stops Hibernate from batching inserts; going through
+ * JdbcTemplate (with rewriteBatchedStatements on the MySQL URL) turns a 450-seat
+ * seat map into a single multi-row INSERT per batch instead of 450 round trips.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SeatBatchRepository {
+
+    private static final String INSERT_SEAT_SQL =
+            "INSERT INTO seats (flight_id, seat_number, seat_type, status, price, booked_by, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_CLASS_COUNT_SQL =
+            "INSERT INTO flight_seat_class_counts (flight_id, seat_type, total_seats, booked_seats) VALUES (?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${flight-service.seat-batch-size:500}")
+    private int batchSize;
+
+    public void insertAll(Long flightId, List<Seat> seats) {
+        jdbcTemplate.batchUpdate(INSERT_SEAT_SQL, seats, batchSize, (ps, seat) -> {
+            ps.setLong(1, flightId);
+            ps.setString(2, seat.getSeatNumber());
+            ps.setString(3, seat.getSeatType().name());
+            ps.setString(4, seat.getStatus().name());
+            ps.setDouble(5, seat.getPrice());
+            ps.setString(6, seat.getBookedBy());
+        });
+    }
+
+    /**
+     * Creates the per-class seat counters of newly saved flights, sized from the seat layout.
+     */
+    public void insertClassCounts(List<Flight> flights) {
+        List<Object[]> rows = new ArrayList<>(flights.size() * SeatType.values().length);
+        for (Flight flight : flights) {
+            int capacity = flight.getAircraft() == null ? 0 : flight.getAircraft().getTotalCapacity();
+            for (SeatType seatType : SeatType.values()) {
+                rows.add(new Object[]{flight.getId(), seatType.name(), SeatLayout.seatsOfType(seatType, capacity)});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_CLASS_COUNT_SQL, rows);
+    }
+}
@@ -1,9 +1,14 @@
 package com.airlinemanagementsystem.flight.repository;
 
 import com.airlinemanagementsystem.flight.entity.Seat;
+import com.airlinemanagementsystem.flight.entity.SeatStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +16,12 @@ import java.util.Optional;
 public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findByFlightId(Long flightId);
     Optional<Seat> findByFlightIdAndSeatNumber(Long flightId, String seatNumber);
+    List<Seat> findByFlightIdAndSeatNumberIn(Long flightId, Collection<String> seatNumbers);
+
+    // Bumps the version itself, so concurrent entity updates of these seats still fail their optimistic check
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = :status, s.bookedBy = :userId, s.version = s.version + 1 " +
+            "WHERE s.flight.id = :flightId AND s.seatNumber IN :seatNumbers AND s.status <> :status")
+    int updateStatus(@Param("flightId") Long flightId, @Param("seatNumbers") Collection<String> seatNumbers,
+                     @Param("status") SeatStatus status, @Param("userId") String userId);
 }
@@ -16,6 +16,7 @@ import java.util.List;
 public class AirportService {
 
     private final AirportRepository airportRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Transactional
     public Airport addAirport(Airport airport) {
@@ -26,7 +27,9 @@ public class AirportService {
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid Timezone ID: " + airport.getTimezoneId());
         }
-        return airportRepository.save(airport);
+        Airport savedAirport = airportRepository.save(airport);
+        referenceDataCache.onAirportSaved(savedAirport);
+        return savedAirport;
     }
 
     @Transactional(readOnly = true)
@@ -34,9 +37,8 @@ public class AirportService {
         return airportRepository.findAll();
     }
 
-    @Transactional(readOnly = true)
     public Airport getAirport(String code) {
-        return airportRepository.findByCode(code.toUpperCase())
+        return referenceDataCache.findAirport(code)
                 .orElseThrow(() -> new RuntimeException("Airport not found with code: " + code));
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.airlinemanagementsystem.flight.service;
+
+import com.airlinemanagementsystem.flight.dto.FlightImportRequest;
+import com.airlinemanagementsystem.flight.dto.FlightImportResult;
+import com.airlinemanagementsystem.flight.entity.Flight;
+import com.airlinemanagementsystem.flight.repository.FlightBatchRepository;
+import com.airlinemanagementsystem.flight.repository.FlightRepository;
+import com.amadeus.resources.FlightOfferSearch;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk schedule refresh from Amadeus. Routes x dates are fetched concurrently under the
+ * "amadeus" rate limiter, reference data is resolved from {@link ReferenceDataCache},
+ * duplicates are filtered with a single IN query and new flights, their seats and their
+ * outbox events are written in JDBC batches, one transaction per chunk.
+ * <p>
+ * Flight numbers are unique in the flights table, so an offer whose number is already taken
+ * by a different departure cannot be stored; it is listed in {@code skippedDates} rather
+ * than counted as a duplicate.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightBulkImportService {
+
+    private final FlightIntegrationService flightIntegrationService;
+    private final FlightRepository flightRepository;
+    private final FlightBatchRepository flightBatchRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SeatService seatService;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final FlightEventProducer flightEventProducer;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${flight-service.import.concurrency:8}")
+    private int concurrency;
+
+    @Value("${flight-service.import.max-offers-per-query:50}")
+    private int maxOffersPerQuery;
+
+    @Value("${flight-service.import.chunk-size:500}")
+    private int chunkSize;
+
+    public FlightImportResult importFlights(FlightImportRequest request) {
+        long startTime = System.currentTimeMillis();
+        FlightImportResult.FlightImportResultBuilder result = FlightImportResult.builder();
+
+        List<CompletableFuture<FlightOfferSearch[]>> fetches = fetchAll(request);
+        result.queries(fetches.size());
+
+        Map<String, Flight> candidates = new LinkedHashMap<>();
+        int failedQueries = 0;
+        int offers = 0;
+        int skipped = 0;
+        int duplicates = 0;
+        List<String> skippedDates = new ArrayList<>();
+
+        for (CompletableFuture<FlightOfferSearch[]> fetch : fetches) {
+            FlightOfferSearch[] page = fetch.join();
+            if (page == null) {
+                failedQueries++;
+                continue;
+            }
+
+            offers += page.length;
+            for (FlightOfferSearch offer : page) {
+                Optional<Flight> flight = parse(offer);
+                if (flight.isEmpty()) {
+                    skipped++;
+                    continue;
+                }
+                Flight previous = candidates.putIfAbsent(flight.get().getFlightNumber(), flight.get());
+                if (previous == null) {
+                    continue;
+                }
+                if (previous.getDepartureTime().equals(flight.get().getDepartureTime())) {
+                    duplicates++;
+                } else {
+                    skippedDates.add(describe(flight.get().getFlightNumber(), flight.get().getDepartureTime()));
+                }
+            }
+        }
+
+        Map<String, Instant> existing = new HashMap<>();
+        if (!candidates.isEmpty()) {
+            for (Object[] row : flightRepository.findDepartureTimesByFlightNumbers(candidates.keySet())) {
+                existing.put((String) row[0], (Instant) row[1]);
+            }
+        }
+
+        List<Flight> newFlights = new ArrayList<>(candidates.size());
+        for (Flight flight : candidates.values()) {
+            Instant scheduled = existing.get(flight.getFlightNumber());
+            if (scheduled == null) {
+                newFlights.add(flight);
+            } else if (scheduled.equals(flight.getDepartureTime())) {
+                duplicates++;
+            } else {
+                skippedDates.add(describe(flight.getFlightNumber(), flight.getDepartureTime()));
+            }
+        }
+
+        if (!skippedDates.isEmpty()) {
+            log.warn("Bulk import skipped {} offers whose flight number is already scheduled on another date", skippedDates.size());
+        }
+
+        for (int from = 0; from < newFlights.size(); from += chunkSize) {
+            List<Flight> chunk = newFlights.subList(from, Math.min(from + chunkSize, newFlights.size()));
+            transactionTemplate.executeWithoutResult(status -> persistChunk(chunk));
+        }
+
+        FlightImportResult summary = result
+                .failedQueries(failedQueries)
+                .offers(offers)
+                .skippedOffers(skipped)
+                .duplicates(duplicates)
+                .skippedDates(skippedDates)
+                .imported(newFlights.size())
+                .elapsedMs(System.currentTimeMillis() - startTime)
+                .build();
+
+        log.info("Bulk import finished: {}", summary);
+        return summary;
+    }
+
+    private List<CompletableFuture<FlightOfferSearch[]>> fetchAll(FlightImportRequest request) {
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter("amadeus");
+        int queryCount = request.getRoutes().size() * request.getDates().size();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, queryCount)));
+
+        try {
+            List<CompletableFuture<FlightOfferSearch[]>> fetches = new ArrayList<>(queryCount);
+            for (FlightImportRequest.Route route : request.getRoutes()) {
+                for (LocalDate date : request.getDates()) {
+                    fetches.add(CompletableFuture.supplyAsync(() -> fetch(rateLimiter, route, date), executor));
+                }
+            }
+            return fetches;
+        } finally {
+            executor.shutdown(); // Already submitted fetches still run to completion
+        }
+    }
+
+    // Returns null when the query failed, so one bad route does not abort the import
+    private FlightOfferSearch[] fetch(RateLimiter rateLimiter, FlightImportRequest.Route route, LocalDate date) {
+        try {
+            FlightOfferSearch[] offers = rateLimiter.executeCallable(() -> flightIntegrationService.searchOffers(
+                    route.getOrigin(), route.getDestination(), date, maxOffersPerQuery));
+            return offers == null ? new FlightOfferSearch[0] : offers;
+        } catch (Exception e) {
+            log.warn("Import query {} -> {} on {} failed: {}", route.getOrigin(), route.getDestination(), date, e.getMessage());
+            return null;
+        }
+    }
+
+    private Optional<Flight> parse(FlightOfferSearch offer) {
+        try {
+            return flightIntegrationService.toFlight(offer,
+                    code -> referenceDataCache.findAirport(code).orElse(null),
+                    code -> referenceDataCache.findAircraftByPrefix(code)
+                            .or(referenceDataCache::defaultAircraft)
+                            .orElse(null));
+        } catch (Exception e) {
+            log.warn("Failed to parse flight offer: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String describe(String flightNumber, Instant departureTime) {
+        return flightNumber + " " + departureTime;
+    }
+
+    private void persistChunk(List<Flight> chunk) {
+        flightBatchRepository.insertAll(chunk);
+
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] row : flightRepository.findIdsByFlightNumbers(chunk.stream().map(Flight::getFlightNumber).toList())) {
+            ids.put((String) row[0], (Long) row[1]);
+        }
+
+        for (Flight flight : chunk) {
+            flight.setId(ids.get(flight.getFlightNumber()));
+            seatService.materialiseSeats(flight);
+        }
+        seatAvailabilityService.initialiseCounts(chunk);
+
+        flightEventProducer.sendFlightUpdateEvents(chunk, "FLIGHT_CREATED");
+    }
+}
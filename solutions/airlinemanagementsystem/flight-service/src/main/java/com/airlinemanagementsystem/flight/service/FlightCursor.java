@@ -0,0 +1,43 @@
+package com.airlinemanagementsystem.flight.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Keyset position of the flight listing: (departure_time, id) of the last row served,
+ * handed to clients as opaque URL-safe Base64.
+ */
+@Getter
+@AllArgsConstructor
+final class FlightCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Instant departureTime;
+    private final Long id;
+
+    String encode() {
+        String position = departureTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    static FlightCursor decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(Pattern.quote(SEPARATOR));
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new FlightCursor(Instant.parse(position[0]), Long.parseLong(position[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -10,12 +10,11 @@ import com.airlinemanagementsystem.flight.repository.FlightRepository;
 import com.amadeus.Amadeus;
 import com.amadeus.Params;
 import com.amadeus.resources.FlightOfferSearch;
-import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -27,13 +26,13 @@ import java.time.format.DateTimeFormatter;
 @Service
 @Slf4j
 @RequiredArgsConstructor
-@DependsOn("referenceDataSeeder")
 public class FlightDataSeeder {
 
     private final FlightIntegrationService flightIntegrationService;
     private final FlightRepository flightRepository;
 
-    @PostConstruct
+    // Needs airports and aircraft, which are seeded after startup
+    @EventListener(ReferenceDataSeededEvent.class)
     public void seedFlights() {
         if (flightRepository.count() > 0) {
             log.info("Flights already exist in DB. Skipping initial seed.");
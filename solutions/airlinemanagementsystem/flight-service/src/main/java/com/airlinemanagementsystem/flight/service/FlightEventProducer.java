@@ -2,41 +2,91 @@ package com.airlinemanagementsystem.flight.service;
 
 import com.airlinemanagementsystem.flight.config.KafkaConfig;
 import com.airlinemanagementsystem.flight.dto.FlightEvent;
+import com.airlinemanagementsystem.flight.dto.SeatClassAvailability;
 import com.airlinemanagementsystem.flight.entity.Flight;
+import com.airlinemanagementsystem.flight.entity.FlightOutboxEvent;
+import com.airlinemanagementsystem.flight.repository.FlightOutboxBatchRepository;
+import com.airlinemanagementsystem.flight.repository.FlightOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records flight events in the outbox table; {@link FlightOutboxRelay} publishes them
+ * to Kafka after the surrounding transaction commits.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FlightEventProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final FlightOutboxRepository flightOutboxRepository;
+    private final FlightOutboxBatchRepository flightOutboxBatchRepository;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final ObjectMapper objectMapper;
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendFlightUpdateEvent(Flight flight, String eventType) {
+        log.info("Queueing Flight Event: [{}] for Flight: {}", eventType, flight.getFlightNumber());
+        List<SeatClassAvailability> availability = seatAvailabilityService
+                .getBookedAvailability(List.of(flight.getId()))
+                .getOrDefault(flight.getId(), List.of());
+        flightOutboxRepository.save(toOutboxEvent(flight, eventType, availability));
+    }
+
+    /**
+     * Bulk variant for imports: one JDBC batch instead of one INSERT per event.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendFlightUpdateEvents(List<Flight> flights, String eventType) {
+        log.info("Queueing {} Flight Events: [{}]", flights.size(), eventType);
+        Map<Long, List<SeatClassAvailability>> availability = seatAvailabilityService
+                .getBookedAvailability(flights.stream().map(Flight::getId).toList());
+        flightOutboxBatchRepository.insertAll(flights.stream()
+                .map(flight -> toOutboxEvent(flight, eventType, availability.getOrDefault(flight.getId(), List.of())))
+                .toList());
+    }
+
+    private FlightOutboxEvent toOutboxEvent(Flight flight, String eventType, List<SeatClassAvailability> availability) {
+        FlightEvent event = FlightEvent.builder()
+                .flightId(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airline(flight.getAirline())
+                .sourceAirport(flight.getSourceAirport().getCode())
+                .destinationAirport(flight.getDestinationAirport().getCode())
+                .departureTime(flight.getDepartureTime())
+                .arrivalTime(flight.getArrivalTime())
+                .basePrice(flight.getBasePrice())
+                .status(flight.getStatus())
+                // Equal to flights.available_seats, but read fresh: the entity may predate this transaction's bulk decrement
+                .availableSeats(availability.isEmpty() ? flight.getAvailableSeats()
+                        : availability.stream().mapToInt(SeatClassAvailability::getAvailable).sum())
+                .seatAvailability(availability)
+                .eventType(eventType)
+                .build();
+
+        // FlightNumber as key keeps a flight's events on one partition; the single-instance relay sends them in outbox order
+        return FlightOutboxEvent.builder()
+                .topic(KafkaConfig.FLIGHT_STATUS_TOPIC)
+                .messageKey(flight.getFlightNumber())
+                .eventType(eventType)
+                .payload(toJson(event))
+                .createdAt(event.getEventTimestamp())
+                .build();
+    }
+
+    private String toJson(FlightEvent event) {
         try {
-            FlightEvent event = FlightEvent.builder()
-                    .flightId(flight.getId())
-                    .flightNumber(flight.getFlightNumber())
-                    .airline(flight.getAirline())
-                    .sourceAirport(flight.getSourceAirport().getCode())
-                    .destinationAirport(flight.getDestinationAirport().getCode())
-                    .departureTime(flight.getDepartureTime())
-                    .arrivalTime(flight.getArrivalTime())
-                    .basePrice(flight.getBasePrice())
-                    .status(flight.getStatus())
-                    .eventType(eventType)
-                    .build();
-
-            log.info("Publishing Flight Event: [{}] for Flight: {}", eventType, flight.getFlightNumber());
-
-            // Using FlightNumber as partition key guarantees ordering
-            kafkaTemplate.send(KafkaConfig.FLIGHT_STATUS_TOPIC, flight.getFlightNumber(), event);
-
-        } catch (Exception e) {
-            log.error("Failed to publish Kafka event for flight {}: {}", flight.getFlightNumber(), e.getMessage());
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise flight event for " + event.getFlightNumber(), e);
         }
     }
 }
@@ -4,11 +4,10 @@ import com.airlinemanagementsystem.flight.entity.Aircraft;
 import com.airlinemanagementsystem.flight.entity.Airport;
 import com.airlinemanagementsystem.flight.entity.Flight;
 import com.airlinemanagementsystem.flight.entity.FlightStatus;
-import com.airlinemanagementsystem.flight.repository.AircraftRepository;
-import com.airlinemanagementsystem.flight.repository.AirportRepository;
 import com.airlinemanagementsystem.flight.repository.FlightRepository;
 import com.amadeus.Amadeus;
 import com.amadeus.Params;
+import com.amadeus.exceptions.ResponseException;
 import com.amadeus.resources.FlightOfferSearch;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +20,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @Slf4j
@@ -28,9 +29,8 @@ import java.time.format.DateTimeFormatter;
 public class FlightIntegrationService {
 
     private final FlightRepository flightRepository;
-    private final AirportRepository airportRepository;
-    private final AircraftRepository aircraftRepository;
-    private final FlightEventProducer flightEventProducer;
+    private final ReferenceDataCache referenceDataCache;
+    private final FlightService flightService;
 
     @Value("${amadeus.api.key}")
     private String apiKey;
@@ -55,19 +55,7 @@ public class FlightIntegrationService {
      */
     public void fetchAndSaveFlights(String origin, String destination, LocalDate date) {
         try {
-            if (amadeus == null) {
-                throw new RuntimeException("Amadeus client is null (Check API Keys)");
-            }
-
-            log.info("Calling Amadeus API for route: {} -> {} on {}", origin, destination, date);
-
-            FlightOfferSearch[] offers = amadeus.shopping.flightOffersSearch.get(
-                    Params.with("originLocationCode", origin)
-                            .and("destinationLocationCode", destination)
-                            .and("departureDate", date.toString())
-                            .and("adults", 1)
-                            .and("max", 5)
-            );
+            FlightOfferSearch[] offers = searchOffers(origin, destination, date, 5);
 
             if (offers != null && offers.length > 0) {
                 int savedCount = 0;
@@ -89,50 +77,80 @@ public class FlightIntegrationService {
     }
 
     /**
-     * Parses and saves a single flight offer.
-     * Returns true if successful, false if skipped.
+     * Raw Amadeus offer search for one route and date. Shared with the bulk importer.
      */
-    private boolean saveFlight(FlightOfferSearch offer) {
-        try {
-            if (offer.getItineraries() == null || offer.getItineraries().length == 0) return false;
+    public FlightOfferSearch[] searchOffers(String origin, String destination, LocalDate date, int maxOffers) throws ResponseException {
+        if (amadeus == null) {
+            throw new IllegalStateException("Amadeus client is null (Check API Keys)");
+        }
 
-            FlightOfferSearch.Itinerary itinerary = offer.getItineraries()[0];
-            FlightOfferSearch.SearchSegment segment = itinerary.getSegments()[0];
+        log.info("Calling Amadeus API for route: {} -> {} on {}", origin, destination, date);
 
-            Airport source = airportRepository.findByCode(segment.getDeparture().getIataCode()).orElse(null);
-            Airport dest = airportRepository.findByCode(segment.getArrival().getIataCode()).orElse(null);
+        return amadeus.shopping.flightOffersSearch.get(
+                Params.with("originLocationCode", origin)
+                        .and("destinationLocationCode", destination)
+                        .and("departureDate", date.toString())
+                        .and("adults", 1)
+                        .and("max", maxOffers)
+        );
+    }
 
-            if (source == null || dest == null) {
-                log.debug("Skipping flight: Airports not found in DB.");
-                return false;
-            }
+    /**
+     * Maps an offer to an unsaved Flight. Airports and aircraft are resolved through the given
+     * lookups so the bulk importer can use preloaded maps instead of per-offer queries.
+     * Empty if the offer has no itinerary or its airports are unknown.
+     */
+    public Optional<Flight> toFlight(FlightOfferSearch offer,
+                                     Function<String, Airport> airportByCode,
+                                     Function<String, Aircraft> aircraftByCode) {
+        if (offer.getItineraries() == null || offer.getItineraries().length == 0) return Optional.empty();
+
+        FlightOfferSearch.Itinerary itinerary = offer.getItineraries()[0];
+        FlightOfferSearch.SearchSegment segment = itinerary.getSegments()[0];
 
-            String aircraftCode = segment.getAircraft().getCode();
-            Aircraft aircraft = aircraftRepository.findFirstByTailNumberStartingWith(aircraftCode)
-                    .orElse(aircraftRepository.findAll().stream().findFirst().orElse(null));
+        Airport source = airportByCode.apply(segment.getDeparture().getIataCode());
+        Airport dest = airportByCode.apply(segment.getArrival().getIataCode());
+
+        if (source == null || dest == null) {
+            log.debug("Skipping flight: Airports not found in DB.");
+            return Optional.empty();
+        }
+
+        Aircraft aircraft = aircraftByCode.apply(segment.getAircraft().getCode());
+
+        return Optional.of(Flight.builder()
+                .flightNumber(segment.getCarrierCode() + segment.getNumber())
+                .airline(getAirlineName(segment.getCarrierCode()))
+                .sourceAirport(source)
+                .destinationAirport(dest)
+                .aircraft(aircraft)
+                .departureTime(parseToInstant(segment.getDeparture().getAt()))
+                .arrivalTime(parseToInstant(segment.getArrival().getAt()))
+                .basePrice(parsePrice(offer.getPrice().getTotal()))
+                .status(FlightStatus.ON_TIME)
+                .build());
+    }
+
+    /**
+     * Parses and saves a single flight offer.
+     * Returns true if successful, false if skipped.
+     */
+    private boolean saveFlight(FlightOfferSearch offer) {
+        try {
+            Optional<Flight> parsed = toFlight(offer,
+                    code -> referenceDataCache.findAirport(code).orElse(null),
+                    code -> referenceDataCache.findAircraftByPrefix(code)
+                            .or(referenceDataCache::defaultAircraft)
+                            .orElse(null));
 
-            Instant departureTime = parseToInstant(segment.getDeparture().getAt());
-            String flightNumber = segment.getCarrierCode() + segment.getNumber();
+            if (parsed.isEmpty()) return false;
 
-            if (flightRepository.existsByFlightNumberAndDepartureTime(flightNumber, departureTime)) {
+            Flight flight = parsed.get();
+            if (flightRepository.existsByFlightNumberAndDepartureTime(flight.getFlightNumber(), flight.getDepartureTime())) {
                 return false;
             }
 
-            Flight flight = Flight.builder()
-                    .flightNumber(flightNumber)
-                    .airline(getAirlineName(segment.getCarrierCode()))
-                    .sourceAirport(source)
-                    .destinationAirport(dest)
-                    .aircraft(aircraft)
-                    .departureTime(parseToInstant(segment.getDeparture().getAt()))
-                    .arrivalTime(parseToInstant(segment.getArrival().getAt()))
-                    .basePrice(parsePrice(offer.getPrice().getTotal()))
-                    .status(FlightStatus.ON_TIME)
-                    .build();
-
-            flight.generateSeats();
-            Flight savedFlight = flightRepository.save(flight);
-            flightEventProducer.sendFlightUpdateEvent(savedFlight, "FLIGHT_CREATED");
+            flightService.persistNewFlight(flight);
             return true;
 
         } catch (Exception e) {
@@ -147,15 +165,15 @@ public class FlightIntegrationService {
     private void generateMockFlights(String origin, String destination, LocalDate date) {
         log.info("Generating Mock Flights for {} -> {}", origin, destination);
 
-        Airport source = airportRepository.findByCode(origin).orElse(null);
-        Airport dest = airportRepository.findByCode(destination).orElse(null);
+        Airport source = referenceDataCache.findAirport(origin).orElse(null);
+        Airport dest = referenceDataCache.findAirport(destination).orElse(null);
 
         if (source == null || dest == null) {
             log.error("Cannot generate mocks: Airports {} or {} missing from DB.", origin, destination);
             return;
         }
 
-        Aircraft aircraft = aircraftRepository.findAll().stream().findFirst().orElse(null);
+        Aircraft aircraft = referenceDataCache.defaultAircraft().orElse(null);
         if (aircraft == null) return;
 
         createDummyFlight(source, dest, aircraft, date.atTime(8, 0).toInstant(ZoneOffset.UTC), "MOCK-101", 150.0);
@@ -180,9 +198,7 @@ public class FlightIntegrationService {
                 .status(FlightStatus.ON_TIME)
                 .build();
 
-        flight.generateSeats();
-        Flight savedFlight = flightRepository.save(flight);
-        flightEventProducer.sendFlightUpdateEvent(savedFlight, "FLIGHT_CREATED");
+        flightService.persistNewFlight(flight);
         log.info("Saved Mock Flight: {}", flightNumber);
     }
 
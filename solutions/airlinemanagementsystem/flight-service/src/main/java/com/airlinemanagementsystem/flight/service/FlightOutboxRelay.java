@@ -0,0 +1,105 @@
+package com.airlinemanagementsystem.flight.service;
+
+import com.airlinemanagementsystem.flight.dto.FlightEvent;
+import com.airlinemanagementsystem.flight.entity.FlightOutboxEvent;
+import com.airlinemanagementsystem.flight.repository.FlightOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains flight_outbox to Kafka. Each pass locks a batch of rows, hands all of them to the
+ * producer at once (so linger/batch.size can pack them into few requests), waits for every
+ * ack and only then deletes the rows. A failed batch is rolled back and retried on the next
+ * pass, so consumers must tolerate duplicates.
+ * <p>
+ * Only one instance relays at a time (a MySQL named lock held for the batch), and every send
+ * of a batch is acknowledged before the lock is given up. Events of one flight therefore reach
+ * Kafka in outbox order, which the flight-number message key then preserves per partition.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightOutboxRelay {
+
+    private final FlightOutboxRepository flightOutboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String RELAY_LOCK = "flight_outbox_relay";
+
+    @Value("${flight-service.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${flight-service.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${flight-service.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay pass failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        Integer acquired = flightOutboxRepository.tryAcquireRelayLock(RELAY_LOCK);
+        if (acquired == null || acquired != 1) {
+            log.debug("Outbox relay lock held by another instance; skipping pass");
+            return 0;
+        }
+
+        try {
+            return sendBatch();
+        } finally {
+            flightOutboxRepository.releaseRelayLock(RELAY_LOCK);
+        }
+    }
+
+    private int sendBatch() {
+        List<FlightOutboxEvent> batch = flightOutboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (FlightOutboxEvent outboxEvent : batch) {
+            sends.add(kafkaTemplate.send(outboxEvent.getTopic(), outboxEvent.getMessageKey(), toEvent(outboxEvent)));
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch of " + batch.size(), e);
+        }
+
+        flightOutboxRepository.deleteAllInBatch(batch);
+        log.info("Relayed {} flight events from outbox", batch.size());
+        return batch.size();
+    }
+
+    private FlightEvent toEvent(FlightOutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), FlightEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload id=" + outboxEvent.getId(), e);
+        }
+    }
+}
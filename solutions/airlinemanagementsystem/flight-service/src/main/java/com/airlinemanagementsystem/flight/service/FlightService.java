@@ -1,19 +1,36 @@
 package com.airlinemanagementsystem.flight.service;
 
+import com.airlinemanagementsystem.flight.dto.FlightPageResponse;
+import com.airlinemanagementsystem.flight.dto.FlightSearchRequest;
+import com.airlinemanagementsystem.flight.dto.FlightSummaryDTO;
 import com.airlinemanagementsystem.flight.entity.Airport;
 import com.airlinemanagementsystem.flight.entity.Aircraft;
 import com.airlinemanagementsystem.flight.entity.Flight;
 import com.airlinemanagementsystem.flight.entity.FlightStatus;
 import com.airlinemanagementsystem.flight.exception.FlightNotFoundException;
-import com.airlinemanagementsystem.flight.repository.AircraftRepository;
-import com.airlinemanagementsystem.flight.repository.AirportRepository;
 import com.airlinemanagementsystem.flight.repository.FlightRepository;
+import com.airlinemanagementsystem.flight.repository.FlightSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -21,29 +38,46 @@ import java.util.List;
 public class FlightService {
 
     private final FlightRepository flightRepository;
-    private final AircraftRepository aircraftRepository;
-    private final AirportRepository airportRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final FlightEventProducer flightEventProducer;
+    private final SeatService seatService;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_QUERY_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("departureTime", "arrivalTime", "basePrice", "airline", "availableSeats");
+    private static final int EXPORT_FLUSH_ROWS = 500;
 
     @Transactional
     public Flight createFlight(Flight flight, String tailNumber, String sourceCode, String destCode) {
         log.info("Creating flight {} with aircraft {}", flight.getFlightNumber(), tailNumber);
 
-        Aircraft aircraft = aircraftRepository.findByTailNumber(tailNumber)
+        Aircraft aircraft = referenceDataCache.findAircraft(tailNumber)
                 .orElseThrow(() -> new RuntimeException("Aircraft not found with tail number: " + tailNumber));
 
-        Airport source = airportRepository.findByCode(sourceCode)
+        Airport source = referenceDataCache.findAirport(sourceCode)
                 .orElseThrow(() -> new RuntimeException("Source airport not found: " + sourceCode));
-        Airport dest = airportRepository.findByCode(destCode)
+        Airport dest = referenceDataCache.findAirport(destCode)
                 .orElseThrow(() -> new RuntimeException("Destination airport not found: " + destCode));
 
         flight.setAircraft(aircraft);
         flight.setSourceAirport(source);
         flight.setDestinationAirport(dest);
 
-        flight.generateSeats();
+        return persistNewFlight(flight);
+    }
 
+    /**
+     * Saves a new flight, bulk-writes its seat map and announces it.
+     * Shared by admin scheduling and the Amadeus import so both use the batched seat path.
+     */
+    @Transactional
+    public Flight persistNewFlight(Flight flight) {
+        flight.setAvailableSeats(flight.getAircraft() == null ? 0 : flight.getAircraft().getTotalCapacity());
         Flight savedFlight = flightRepository.save(flight);
+        seatService.materialiseSeats(savedFlight);
+        seatAvailabilityService.initialiseCounts(List.of(savedFlight));
 
         flightEventProducer.sendFlightUpdateEvent(savedFlight, "FLIGHT_CREATED");
 
@@ -55,6 +89,114 @@ public class FlightService {
         return flightRepository.findAll();
     }
 
+    /**
+     * Consistent-read search straight from MySQL, for when the Elasticsearch read model lags.
+     * Airports are resolved to ids up front so the filter runs on idx_flight_search
+     * (source_airport_id, destination_airport_id, departure_time); seat availability comes
+     * from the maintained available_seats counter.
+     */
+    @Transactional(readOnly = true)
+    public Page<FlightSummaryDTO> queryFlights(FlightSearchRequest request) {
+        if (request.getSource() == null || request.getDestination() == null || request.getDate() == null) {
+            throw new IllegalArgumentException("source, destination and date are required");
+        }
+
+        String sortBy = request.getSortBy() == null ? "departureTime" : request.getSortBy();
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot sort by '" + sortBy + "'. Allowed: " + SORTABLE_FIELDS);
+        }
+        Sort.Direction direction = "desc".equalsIgnoreCase(request.getSortDir()) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(Math.max(0, request.getPage()),
+                Math.max(1, Math.min(request.getSize(), MAX_QUERY_PAGE_SIZE)),
+                Sort.by(direction, sortBy).and(Sort.by("id")));
+
+        Optional<Airport> source = referenceDataCache.findAirport(request.getSource());
+        Optional<Airport> destination = referenceDataCache.findAirport(request.getDestination());
+        if (source.isEmpty() || destination.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Specification<Flight> specification = Specification
+                .where(FlightSpecifications.onRoute(source.get(), destination.get()))
+                .and(FlightSpecifications.departingOn(request.getDate()))
+                .and(FlightSpecifications.maxPrice(request.getMaxPrice()))
+                .and(FlightSpecifications.airline(request.getAirlineName()))
+                .and(FlightSpecifications.minAvailableSeats(request.getMinAvailableSeats()));
+
+        return flightRepository.findAll(specification, pageable).map(this::toSummary);
+    }
+
+    /**
+     * Fills available_seats for flights created before the counter existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillAvailableSeats() {
+        int updated = flightRepository.backfillAvailableSeats();
+        if (updated > 0) {
+            log.info("Backfilled available seat counters for {} flights", updated);
+        }
+    }
+
+    private FlightSummaryDTO toSummary(Flight flight) {
+        return FlightSummaryDTO.builder()
+                .id(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airline(flight.getAirline())
+                .sourceAirport(flight.getSourceAirport().getCode())
+                .destinationAirport(flight.getDestinationAirport().getCode())
+                .departureTime(flight.getDepartureTime())
+                .arrivalTime(flight.getArrivalTime())
+                .status(flight.getStatus())
+                .basePrice(flight.getBasePrice())
+                .availableSeats(flight.getAvailableSeats())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public FlightPageResponse getFlightPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<FlightSummaryDTO> flights;
+        if (cursor == null || cursor.isBlank()) {
+            flights = flightRepository.findFirstSummaries(Limit.of(pageSize));
+        } else {
+            FlightCursor position = FlightCursor.decode(cursor);
+            flights = flightRepository.findSummariesAfter(position.getDepartureTime(), position.getId(), Limit.of(pageSize));
+        }
+
+        FlightSummaryDTO last = flights.isEmpty() ? null : flights.get(flights.size() - 1);
+        String nextCursor = flights.size() < pageSize ? null : new FlightCursor(last.getDepartureTime(), last.getId()).encode();
+        return FlightPageResponse.builder()
+                .flights(flights)
+                .size(flights.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Writes every flight as newline-delimited JSON while the result set streams from MySQL,
+     * flushing every {@code EXPORT_FLUSH_ROWS} rows, so memory stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public void exportFlights(OutputStream out) throws IOException {
+        try (Stream<FlightSummaryDTO> flights = flightRepository.streamAllSummaries()) {
+            Iterator<FlightSummaryDTO> iterator = flights.iterator();
+            int rows = 0;
+
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+
+                if (++rows % EXPORT_FLUSH_ROWS == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+            log.info("Exported {} flights", rows);
+        }
+    }
+
     @Transactional
     public Flight updateFlightStatus(Long flightId, FlightStatus newStatus) {
         log.info("Updating flight {} status to {}", flightId, newStatus);
@@ -0,0 +1,221 @@
+package com.airlinemanagementsystem.flight.service;
+
+import com.airlinemanagementsystem.flight.entity.Aircraft;
+import com.airlinemanagementsystem.flight.entity.Airport;
+import com.airlinemanagementsystem.flight.repository.AircraftRepository;
+import com.airlinemanagementsystem.flight.repository.AirportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Airports by IATA code and aircraft by tail number, loaded in full once and read-through on miss.
+ * Reference data only changes through ReferenceDataSeeder, AirportService and AircraftController,
+ * which report their writes here, so the hot paths never query these tables.
+ * Misses are remembered for {@code miss-ttl}: unknown codes (e.g. Amadeus equipment codes that
+ * match no tail number) cost one query per TTL instead of one per lookup, while writes made
+ * on other instances still become visible once the TTL has passed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final AirportRepository airportRepository;
+    private final AircraftRepository aircraftRepository;
+
+    private final Map<String, Airport> airportsByCode = new ConcurrentHashMap<>();
+    // Sorted so aircraft can be matched by tail number prefix (e.g. Amadeus equipment codes)
+    private final NavigableMap<String, Aircraft> aircraftByTail = new ConcurrentSkipListMap<>();
+    // Negative entries: lookup key -> time (millis) until which the miss is trusted
+    private final Map<String, Long> airportMisses = new ConcurrentHashMap<>();
+    private final Map<String, Long> aircraftMisses = new ConcurrentHashMap<>();
+    private volatile Aircraft defaultAircraft;
+    private volatile boolean loaded;
+
+    @Value("${flight-service.reference-data.miss-ttl:60s}")
+    private Duration missTtl;
+
+    @Value("${flight-service.reference-data.max-misses:10000}")
+    private int maxMisses;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        ensureLoaded();
+    }
+
+    @EventListener(ReferenceDataSeededEvent.class)
+    public void onReferenceDataSeeded(ReferenceDataSeededEvent event) {
+        if (event.getAirportsSeeded() > 0 || event.getAircraftSeeded() > 0) {
+            invalidateAll();
+            ensureLoaded();
+        }
+    }
+
+    public Optional<Airport> findAirport(String code) {
+        if (code == null) return Optional.empty();
+        ensureLoaded();
+
+        String key = code.toUpperCase(Locale.ROOT);
+        Airport airport = airportsByCode.get(key);
+        if (airport != null) {
+            return Optional.of(airport);
+        }
+
+        if (isKnownMiss(airportMisses, key)) {
+            return Optional.empty();
+        }
+
+        Optional<Airport> loadedAirport = airportRepository.findByCode(key);
+        loadedAirport.ifPresentOrElse(this::putAirport, () -> recordMiss(airportMisses, key));
+        return loadedAirport;
+    }
+
+    public Optional<Aircraft> findAircraft(String tailNumber) {
+        if (tailNumber == null) return Optional.empty();
+        ensureLoaded();
+
+        Aircraft aircraft = aircraftByTail.get(tailNumber);
+        if (aircraft != null) {
+            return Optional.of(aircraft);
+        }
+
+        String missKey = "tail:" + tailNumber;
+        if (isKnownMiss(aircraftMisses, missKey)) {
+            return Optional.empty();
+        }
+
+        Optional<Aircraft> loadedAircraft = aircraftRepository.findByTailNumber(tailNumber);
+        loadedAircraft.ifPresentOrElse(this::putAircraft, () -> recordMiss(aircraftMisses, missKey));
+        return loadedAircraft;
+    }
+
+    public Optional<Aircraft> findAircraftByPrefix(String prefix) {
+        if (prefix == null) return Optional.empty();
+        ensureLoaded();
+
+        Map.Entry<String, Aircraft> candidate = aircraftByTail.ceilingEntry(prefix);
+        if (candidate != null && candidate.getKey().startsWith(prefix)) {
+            return Optional.of(candidate.getValue());
+        }
+
+        String missKey = "prefix:" + prefix;
+        if (isKnownMiss(aircraftMisses, missKey)) {
+            return Optional.empty();
+        }
+
+        Optional<Aircraft> loadedAircraft = aircraftRepository.findFirstByTailNumberStartingWith(prefix);
+        loadedAircraft.ifPresentOrElse(this::putAircraft, () -> recordMiss(aircraftMisses, missKey));
+        return loadedAircraft;
+    }
+
+    /**
+     * The aircraft used when an offer's equipment is unknown (lowest id, as findAll().findFirst() picked before).
+     */
+    public Optional<Aircraft> defaultAircraft() {
+        ensureLoaded();
+        if (defaultAircraft == null) {
+            aircraftRepository.findFirstByOrderByAircraftIdAsc().ifPresent(this::putAircraft);
+        }
+        return Optional.ofNullable(defaultAircraft);
+    }
+
+    public void onAirportSaved(Airport airport) {
+        afterCommit(() -> putAirport(airport));
+    }
+
+    public void onAircraftSaved(Aircraft aircraft) {
+        afterCommit(() -> putAircraft(aircraft));
+    }
+
+    /**
+     * Drops everything; the next read reloads both tables.
+     */
+    public synchronized void invalidateAll() {
+        airportsByCode.clear();
+        aircraftByTail.clear();
+        airportMisses.clear();
+        aircraftMisses.clear();
+        defaultAircraft = null;
+        loaded = false;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+
+        synchronized (this) {
+            if (loaded) return;
+
+            airportRepository.findAll().forEach(this::putAirport);
+            aircraftRepository.findAll().forEach(this::putAircraft);
+            loaded = true;
+            log.info("Reference data cache loaded: {} airports, {} aircraft", airportsByCode.size(), aircraftByTail.size());
+        }
+    }
+
+    private boolean isKnownMiss(Map<String, Long> misses, String key) {
+        Long trustedUntil = misses.get(key);
+        if (trustedUntil == null) {
+            return false;
+        }
+        if (trustedUntil > System.currentTimeMillis()) {
+            return true;
+        }
+        misses.remove(key, trustedUntil);
+        return false;
+    }
+
+    private void recordMiss(Map<String, Long> misses, String key) {
+        long now = System.currentTimeMillis();
+        if (misses.size() >= maxMisses) {
+            misses.values().removeIf(trustedUntil -> trustedUntil <= now);
+            if (misses.size() >= maxMisses) {
+                misses.clear();
+            }
+        }
+        misses.put(key, now + missTtl.toMillis());
+    }
+
+    private void putAirport(Airport airport) {
+        String code = airport.getCode().toUpperCase(Locale.ROOT);
+        airportsByCode.put(code, airport);
+        airportMisses.remove(code);
+    }
+
+    private void putAircraft(Aircraft aircraft) {
+        aircraftByTail.put(aircraft.getTailNumber(), aircraft);
+        // A new tail number can satisfy any cached prefix miss; these are cheap to rebuild
+        aircraftMisses.clear();
+
+        Aircraft current = defaultAircraft;
+        if (current == null || aircraft.getAircraftId() < current.getAircraftId()) {
+            defaultAircraft = aircraft;
+        }
+    }
+
+    private void afterCommit(Runnable apply) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+}
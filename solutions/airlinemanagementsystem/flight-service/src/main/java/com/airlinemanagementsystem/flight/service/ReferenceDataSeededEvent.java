@@ -0,0 +1,15 @@
+package com.airlinemanagementsystem.flight.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link ReferenceDataSeeder} once airports and aircraft are in the database
+ * (whether they were just seeded or already present).
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataSeededEvent {
+    private final long airportsSeeded;
+    private final long aircraftSeeded;
+}
@@ -6,31 +6,50 @@ import com.airlinemanagementsystem.flight.entity.Aircraft;
 import com.airlinemanagementsystem.flight.entity.Airport;
 import com.airlinemanagementsystem.flight.repository.AircraftRepository;
 import com.airlinemanagementsystem.flight.repository.AirportRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.airlinemanagementsystem.flight.repository.ReferenceDataBatchRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
-import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+/**
+ * Seeds airports and aircraft on a fresh database. Runs after the application reports ready
+ * (on a background thread unless {@code flight-service.data.async-seed} is false), streams both
+ * files record by record and writes them in fixed-size JDBC batches. Progress is exposed as the
+ * {@code flight.reference.seed.rows} counter and {@code flight.reference.seed.completed} gauge.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class ReferenceDataSeeder {
 
     private final AirportRepository airportRepository;
     private final AircraftRepository aircraftRepository;
+    private final ReferenceDataBatchRepository referenceDataBatchRepository;
+    private final TransactionTemplate transactionTemplate;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter airportRowsCounter;
+    private final Counter aircraftRowsCounter;
+    private final AtomicInteger completed = new AtomicInteger();
 
     @Value("${flight-service.data.airports-path:data/airports.json}")
     private String airportsFilePath;
@@ -38,120 +57,198 @@ public class ReferenceDataSeeder {
     @Value("${flight-service.data.aircrafts-path:data/aircrafts.dat}")
     private String aircraftsFilePath;
 
+    @Value("${flight-service.data.seed-batch-size:1000}")
+    private int seedBatchSize;
+
+    @Value("${flight-service.data.async-seed:true}")
+    private boolean asyncSeed;
+
     private static final Pattern IATA_PATTERN = Pattern.compile("^[A-Z]{3}$");
 
-    @PostConstruct
-    @Transactional
+    public ReferenceDataSeeder(AirportRepository airportRepository,
+                               AircraftRepository aircraftRepository,
+                               ReferenceDataBatchRepository referenceDataBatchRepository,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry) {
+        this.airportRepository = airportRepository;
+        this.aircraftRepository = aircraftRepository;
+        this.referenceDataBatchRepository = referenceDataBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.airportRowsCounter = meterRegistry.counter("flight.reference.seed.rows", "dataset", "airports");
+        this.aircraftRowsCounter = meterRegistry.counter("flight.reference.seed.rows", "dataset", "aircraft");
+        meterRegistry.gauge("flight.reference.seed.completed", completed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!asyncSeed) {
+            seedReferenceData();
+            return;
+        }
+
+        Thread seeder = new Thread(this::seedReferenceData, "reference-data-seeder");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+
     public void seedReferenceData() {
-        seedAircrafts();
-        seedAirports();
+        long startTime = System.currentTimeMillis();
+        long aircraftSeeded = seedAircrafts();
+        long airportsSeeded = seedAirports();
+
+        completed.set(1);
+        log.info("Reference data ready in {} ms ({} airports, {} aircraft seeded).",
+                System.currentTimeMillis() - startTime, airportsSeeded, aircraftSeeded);
+        eventPublisher.publishEvent(new ReferenceDataSeededEvent(airportsSeeded, aircraftSeeded));
     }
 
-    private void seedAircrafts() {
+    private long seedAircrafts() {
         if (aircraftRepository.count() > 0) {
             log.info("Aircraft data already exists. Skipping.");
-            return;
+            return 0;
         }
 
-        try {
-            log.info("Loading Aircrafts from: {}", aircraftsFilePath);
-            InputStream inputStream = new ClassPathResource(aircraftsFilePath).getInputStream();
-
-            CsvMapper csvMapper = new CsvMapper();
-            CsvSchema schema = CsvSchema.builder()
-                    .addColumn("name")
-                    .addColumn("iata")
-                    .addColumn("icao")
-                    .setColumnSeparator(',')
-                    .setQuoteChar('"')
-                    .build();
-
-            MappingIterator<AircraftSourceDto> it = csvMapper
-                    .readerFor(AircraftSourceDto.class)
-                    .with(schema)
-                    .readValues(inputStream);
-
-            List<Aircraft> aircraftsToSave = new ArrayList<>();
-            Set<String> processedTailNumbers = new HashSet<>();
-
-            while (it.hasNext()) {
-                AircraftSourceDto dto = it.next();
-
-                if (isValidAircraft(dto)) {
-                    // Generate unique tail number
-                    String generatedTailNumber = dto.getIata() + "-" + dto.getIcao();
-
-                    if (!processedTailNumbers.contains(generatedTailNumber)) {
-                        aircraftsToSave.add(Aircraft.builder()
-                                .model(dto.getName())
-                                .tailNumber(generatedTailNumber)
-                                .totalCapacity(estimateCapacity(dto.getName()))
-                                .build());
-                        processedTailNumbers.add(generatedTailNumber);
+        log.info("Loading Aircrafts from: {}", aircraftsFilePath);
+
+        CsvMapper csvMapper = new CsvMapper();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("name")
+                .addColumn("iata")
+                .addColumn("icao")
+                .setColumnSeparator(',')
+                .setQuoteChar('"')
+                .build();
+
+        try (InputStream inputStream = new ClassPathResource(aircraftsFilePath).getInputStream();
+             MappingIterator<AircraftSourceDto> it = csvMapper
+                     .readerFor(AircraftSourceDto.class)
+                     .with(schema)
+                     .readValues(inputStream)) {
+
+            return transactionTemplate.execute(status -> {
+                List<Aircraft> batch = new ArrayList<>(seedBatchSize);
+                Set<String> processedTailNumbers = new HashSet<>();
+                long seeded = 0;
+
+                while (it.hasNext()) {
+                    AircraftSourceDto dto = it.next();
+
+                    if (isValidAircraft(dto)) {
+                        // Generate unique tail number
+                        String generatedTailNumber = dto.getIata() + "-" + dto.getIcao();
+
+                        if (processedTailNumbers.add(generatedTailNumber)) {
+                            batch.add(Aircraft.builder()
+                                    .model(dto.getName())
+                                    .tailNumber(generatedTailNumber)
+                                    .totalCapacity(estimateCapacity(dto.getName()))
+                                    .build());
+                        }
+                    }
+
+                    if (batch.size() == seedBatchSize) {
+                        seeded += flushAircraft(batch);
                     }
                 }
-            }
+                seeded += flushAircraft(batch);
 
-            if (!aircraftsToSave.isEmpty()) {
-                aircraftRepository.saveAll(aircraftsToSave);
-                log.info("Seeded {} aircraft types.", aircraftsToSave.size());
-            }
+                log.info("Seeded {} aircraft types.", seeded);
+                return seeded;
+            });
 
         } catch (Exception e) {
             log.error("Failed to seed aircrafts: {}", e.getMessage());
+            return 0;
         }
     }
 
-    private void seedAirports() {
+    private long seedAirports() {
         if (airportRepository.count() > 0) {
             log.info("Airport data already exists. Skipping.");
-            return;
+            return 0;
         }
 
-        try {
-            log.info("Loading Airports from: {}", airportsFilePath);
-            InputStream inputStream = new ClassPathResource(airportsFilePath).getInputStream();
+        log.info("Loading Airports from: {}", airportsFilePath);
 
-            Map<String, AirportSourceDto> sourceMap = objectMapper.readValue(
-                    inputStream,
-                    new TypeReference<Map<String, AirportSourceDto>>() {}
-            );
+        // airports.json is one object keyed by ICAO code; walk it token by token so the
+        // file is never held in memory as a whole
+        try (InputStream inputStream = new ClassPathResource(airportsFilePath).getInputStream();
+             JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
 
-            List<Airport> airportsToSave = new ArrayList<>();
-            int skippedCount = 0;
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Expected a JSON object at the root of " + airportsFilePath);
+            }
 
-            for (AirportSourceDto dto : sourceMap.values()) {
-                if (dto.getIataCode() != null) {
-                    dto.setIataCode(dto.getIataCode().toUpperCase());
-                }
+            return transactionTemplate.execute(status -> {
+                try {
+                    List<Airport> batch = new ArrayList<>(seedBatchSize);
+                    Set<String> processedCodes = new HashSet<>();
+                    long seeded = 0;
+                    int skippedCount = 0;
 
-                if (isValidAirport(dto)) {
-                    airportsToSave.add(Airport.builder()
-                            .code(dto.getIataCode())
-                            .name(dto.getName())
-                            .city(dto.getCity())
-                            .country(dto.getCountry())
-                            .timezoneId(dto.getTimezone())
-                            .build());
-                } else {
-                    skippedCount++;
-                }
-            }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        parser.nextToken();
+                        AirportSourceDto dto = objectMapper.readValue(parser, AirportSourceDto.class);
 
-            if (!airportsToSave.isEmpty()) {
-                airportRepository.saveAll(airportsToSave);
-                log.info("Seeded {} valid airports. (Skipped {} invalid/incomplete entries)",
-                        airportsToSave.size(), skippedCount);
-            } else {
-                log.warn("No valid airports found to seed!");
-            }
+                        if (dto.getIataCode() != null) {
+                            dto.setIataCode(dto.getIataCode().toUpperCase());
+                        }
+
+                        if (isValidAirport(dto) && processedCodes.add(dto.getIataCode())) {
+                            batch.add(Airport.builder()
+                                    .code(dto.getIataCode())
+                                    .name(dto.getName())
+                                    .city(dto.getCity())
+                                    .country(dto.getCountry())
+                                    .timezoneId(dto.getTimezone())
+                                    .build());
+                        } else {
+                            skippedCount++;
+                        }
+
+                        if (batch.size() == seedBatchSize) {
+                            seeded += flushAirports(batch);
+                        }
+                    }
+                    seeded += flushAirports(batch);
+
+                    if (seeded > 0) {
+                        log.info("Seeded {} valid airports. (Skipped {} invalid/incomplete entries)", seeded, skippedCount);
+                    } else {
+                        log.warn("No valid airports found to seed!");
+                    }
+                    return seeded;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
 
         } catch (Exception e) {
-            log.error("Failed to seed airports: {}", e.getMessage());
-            e.printStackTrace();
+            log.error("Failed to seed airports: {}", e.getMessage(), e);
+            return 0;
         }
     }
 
+    private int flushAircraft(List<Aircraft> batch) {
+        int size = batch.size();
+        referenceDataBatchRepository.insertAircraft(batch);
+        aircraftRowsCounter.increment(size);
+        batch.clear();
+        return size;
+    }
+
+    private int flushAirports(List<Airport> batch) {
+        int size = batch.size();
+        referenceDataBatchRepository.insertAirports(batch);
+        airportRowsCounter.increment(size);
+        batch.clear();
+        return size;
+    }
+
     private boolean isValidAircraft(AircraftSourceDto dto) {
         return dto.getIata() != null
                 && !dto.getIata().isEmpty()
@@ -0,0 +1,121 @@
+package com.airlinemanagementsystem.flight.service;
+
+import com.airlinemanagementsystem.flight.dto.FlightAvailabilityDTO;
+import com.airlinemanagementsystem.flight.dto.SeatClassAvailability;
+import com.airlinemanagementsystem.flight.entity.Flight;
+import com.airlinemanagementsystem.flight.entity.FlightSeatClassCount;
+import com.airlinemanagementsystem.flight.entity.SeatType;
+import com.airlinemanagementsystem.flight.exception.BusinessException;
+import com.airlinemanagementsystem.flight.exception.FlightNotFoundException;
+import com.airlinemanagementsystem.flight.repository.FlightRepository;
+import com.airlinemanagementsystem.flight.repository.FlightSeatClassCountRepository;
+import com.airlinemanagementsystem.flight.repository.SeatBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-class seat availability without counting seat rows: totals and booked seats come from
+ * flight_seat_class_counts, locked seats from the Redis sets maintained by {@link SeatLockService}.
+ * flights.available_seats (filtered and sorted on by search) always equals the sum of
+ * total minus booked over a flight's class rows; {@link #onSeatsBooked} is the only place
+ * bookings move either counter.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatAvailabilityService {
+
+    private final FlightSeatClassCountRepository classCountRepository;
+    private final SeatBatchRepository seatBatchRepository;
+    private final FlightRepository flightRepository;
+    private final SeatLockService seatLockService;
+
+    @Transactional(readOnly = true)
+    public FlightAvailabilityDTO getAvailability(Long flightId) {
+        List<FlightSeatClassCount> counts = classCountRepository.findByFlightId(flightId);
+        if (counts.isEmpty() && !flightRepository.existsById(flightId)) {
+            throw new FlightNotFoundException(flightId);
+        }
+
+        Map<SeatType, Integer> locked = seatLockService.countLockedSeats(flightId).orElse(Map.of());
+
+        List<SeatClassAvailability> seatClasses = counts.stream()
+                .sorted(Comparator.comparing(FlightSeatClassCount::getSeatType))
+                .map(count -> toAvailability(count, locked.getOrDefault(count.getSeatType(), 0)))
+                .toList();
+
+        return FlightAvailabilityDTO.builder()
+                .flightId(flightId)
+                .seatClasses(seatClasses)
+                .totalAvailable(seatClasses.stream().mapToInt(SeatClassAvailability::getAvailable).sum())
+                .build();
+    }
+
+    /**
+     * Booked-only availability for flight events; locks are too short-lived to publish.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<SeatClassAvailability>> getBookedAvailability(Collection<Long> flightIds) {
+        return classCountRepository.findByFlightIdIn(flightIds).stream()
+                .sorted(Comparator.comparing(FlightSeatClassCount::getSeatType))
+                .collect(Collectors.groupingBy(FlightSeatClassCount::getFlightId,
+                        Collectors.mapping(count -> toAvailability(count, 0), Collectors.toList())));
+    }
+
+    @Transactional
+    public void initialiseCounts(List<Flight> flights) {
+        seatBatchRepository.insertClassCounts(flights);
+    }
+
+    /**
+     * Runs in the confirming transaction, so both counters commit or roll back with the seat rows.
+     * Every update is guarded; one that matches no row fails the transaction instead of letting
+     * the counters drift apart.
+     */
+    @Transactional
+    public void onSeatsBooked(Long flightId, Map<SeatType, Long> bookedByType) {
+        int seats = bookedByType.values().stream().mapToInt(Long::intValue).sum();
+        if (flightRepository.decrementAvailableSeats(flightId, seats) == 0) {
+            throw new BusinessException("Flight " + flightId + " has fewer than " + seats + " seats left to book");
+        }
+
+        bookedByType.forEach((seatType, booked) -> {
+            if (classCountRepository.incrementBooked(flightId, seatType, booked.intValue()) == 0) {
+                throw new BusinessException("Flight " + flightId + " has fewer than " + booked + " " + seatType + " seats left to book");
+            }
+        });
+    }
+
+    /**
+     * Creates counters for flights scheduled before they existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillClassCounts() {
+        int created = classCountRepository.backfillMissing();
+        if (created > 0) {
+            log.info("Backfilled {} seat class counters", created);
+        }
+    }
+
+    private SeatClassAvailability toAvailability(FlightSeatClassCount count, int locked) {
+        int free = Math.max(0, count.getTotalSeats() - count.getBookedSeats() - locked);
+        return SeatClassAvailability.builder()
+                .seatType(count.getSeatType())
+                .total(count.getTotalSeats())
+                .booked(count.getBookedSeats())
+                .locked(locked)
+                .available(free)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.airlinemanagementsystem.flight.service;
+
+import com.airlinemanagementsystem.flight.config.KafkaConfig;
+import com.airlinemanagementsystem.flight.dto.SeatReleasedEvent;
+import com.airlinemanagementsystem.flight.entity.SeatLayout;
+import com.airlinemanagementsystem.flight.inventory.SeatInventoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.KeyExpirationEventMessageListener;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Reacts to seat locks expiring in Redis instead of waiting for the next inventory reload.
+ * Every instance receives the notification and, unless the seat has been locked again in the
+ * meantime (late or slow delivery), clears it from its own inventory; a short-lived SETNX marker
+ * elects one instance to publish the {@link SeatReleasedEvent}.
+ * Needs {@code notify-keyspace-events} to include {@code Ex}; the listener sets it on startup
+ * when the server has no setting and {@code flight-service.seat-locks.keyspace-events} is not blank.
+ */
+@Slf4j
+@Component
+public class SeatLockExpiryListener extends KeyExpirationEventMessageListener {
+
+    private static final String EXPIRY_MARKER_PREFIX = "LOCK_EXPIRED::";
+    private static final Duration EXPIRY_MARKER_TTL = Duration.ofMinutes(1);
+
+    private final SeatInventoryService seatInventoryService;
+    private final SeatLockService seatLockService;
+    private final StringRedisTemplate redisTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public SeatLockExpiryListener(RedisMessageListenerContainer listenerContainer,
+                                  SeatInventoryService seatInventoryService,
+                                  SeatLockService seatLockService,
+                                  StringRedisTemplate redisTemplate,
+                                  KafkaTemplate<String, Object> kafkaTemplate,
+                                  @Value("${flight-service.seat-locks.keyspace-events:Ex}") String keyspaceEvents) {
+        super(listenerContainer);
+        this.seatInventoryService = seatInventoryService;
+        this.seatLockService = seatLockService;
+        this.redisTemplate = redisTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        setKeyspaceNotificationsConfigParameter(keyspaceEvents);
+    }
+
+    @Override
+    protected void doHandleMessage(Message message) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!key.startsWith(SeatLockService.LOCK_PREFIX)) {
+            return;
+        }
+
+        // LOCK::FLIGHT_SEAT::{flightId}::{seatNumber}
+        String[] parts = key.substring(SeatLockService.LOCK_PREFIX.length()).split("::", 2);
+        if (parts.length != 2) {
+            log.warn("Ignoring expired lock with unexpected key {}", key);
+            return;
+        }
+
+        try {
+            Long flightId = Long.valueOf(parts[0]);
+            String seatNumber = parts[1];
+
+            if (!seatLockService.clearExpiredLock(flightId, seatNumber)) {
+                log.debug("Seat {} on Flight {} was locked again before its expiry was handled", seatNumber, flightId);
+                return;
+            }
+
+            seatInventoryService.onSeatReleased(flightId, seatNumber);
+
+            Boolean first = redisTemplate.opsForValue()
+                    .setIfAbsent(EXPIRY_MARKER_PREFIX + flightId + "::" + seatNumber, "1", EXPIRY_MARKER_TTL);
+            if (!Boolean.TRUE.equals(first)) {
+                return; // Another instance is publishing this expiry
+            }
+
+            SeatReleasedEvent event = SeatReleasedEvent.builder()
+                    .flightId(flightId)
+                    .seatNumber(seatNumber)
+                    .seatType(SeatLayout.seatTypeOf(seatNumber))
+                    .reason("LOCK_EXPIRED")
+                    .releasedAt(Instant.now())
+                    .build();
+            kafkaTemplate.send(KafkaConfig.SEAT_RELEASED_TOPIC, String.valueOf(flightId), event);
+            log.info("Seat lock expired: Flight {} Seat {}", flightId, seatNumber);
+        } catch (Exception e) {
+            log.error("Failed to process expired lock {}: {}", key, e.getMessage());
+        }
+    }
+}
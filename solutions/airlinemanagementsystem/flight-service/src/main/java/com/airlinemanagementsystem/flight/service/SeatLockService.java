@@ -1,72 +1,449 @@
 package com.airlinemanagementsystem.flight.service;
 
-import com.airlinemanagementsystem.flight.exception.SeatAlreadyLockedException;
+import com.airlinemanagementsystem.flight.dto.SeatLockResult;
+import com.airlinemanagementsystem.flight.dto.SeatLockStatus;
+import com.airlinemanagementsystem.flight.entity.SeatLayout;
+import com.airlinemanagementsystem.flight.entity.SeatType;
+import com.airlinemanagementsystem.flight.inventory.SeatInventoryService;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SeatLockService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private static final String LOCK_PREFIX = "LOCK::FLIGHT_SEAT::";
+    private final StringRedisTemplate redisTemplate;
+    private final SeatInventoryService seatInventoryService;
+    static final String LOCK_PREFIX = "LOCK::FLIGHT_SEAT::";
+    private static final String LOCKED_SEATS_PREFIX = "SEAT_LOCKS::";
     private static final long LOCK_DURATION_MINUTES = 10;
 
+    // Every lock is mirrored into a per-class sorted set (member = seat, score = expiry millis)
+    // in the same script, so the locked counters can never drift from the lock keys.
+    // The single-seat scripts are compare-and-set on the owner and reply {code, owner}:
+    // 1 = done, 0 = held by the returned owner, -1 = no lock. Contention is a normal reply,
+    // not an exception, and never needs a second GET to find out who won.
+
+    // KEYS[1] = lock key, KEYS[2] = class set or "" for off-layout seats,
+    // ARGV = owner, TTL millis, expiry millis, seat number. Re-locking by the owner refreshes the TTL.
+    private static final RedisScript<List<Object>> ACQUIRE_SCRIPT = replyScript(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current and current ~= ARGV[1] then return {0, current} end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "if KEYS[2] ~= '' then redis.call('ZADD', KEYS[2], ARGV[3], ARGV[4]) end " +
+            "return {1, ARGV[1]}");
+
+    // Same KEYS and ARGV as ACQUIRE_SCRIPT; only an existing lock of the same owner is extended.
+    private static final RedisScript<List<Object>> EXTEND_SCRIPT = replyScript(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if not current then return {-1, ''} end " +
+            "if current ~= ARGV[1] then return {0, current} end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "if KEYS[2] ~= '' then redis.call('ZADD', KEYS[2], ARGV[3], ARGV[4]) end " +
+            "return {1, current}");
+
+    // KEYS[1] = lock key, KEYS[2] = class set or "", ARGV = owner, seat number.
+    private static final RedisScript<List<Object>> RELEASE_SCRIPT = replyScript(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current and current ~= ARGV[1] then return {0, current} end " +
+            "if KEYS[2] ~= '' then redis.call('ZREM', KEYS[2], ARGV[2]) end " +
+            "if not current then return {-1, ''} end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return {1, current}");
+
+    // KEYS = n lock keys followed by their n class sets, ARGV = owner, then the n seat numbers.
+    // Releases every lock the owner holds and skips the others; replies with the number released.
+    private static final RedisScript<Long> RELEASE_ALL_SCRIPT = new DefaultRedisScript<>(
+            "local n = #KEYS / 2 " +
+            "local released = 0 " +
+            "for i = 1, n do " +
+            "  local current = redis.call('GET', KEYS[i]) " +
+            "  if not current or current == ARGV[1] then " +
+            "    if KEYS[n + i] ~= '' then redis.call('ZREM', KEYS[n + i], ARGV[1 + i]) end " +
+            "    if current then redis.call('DEL', KEYS[i]) released = released + 1 end " +
+            "  end " +
+            "end " +
+            "return released",
+            Long.class);
+
+    // KEYS = n lock keys followed by their n class sets, ARGV = owner, TTL millis, expiry millis,
+    // then the n seat numbers. Replies {0, owner} on success, otherwise {i, holder} for the
+    // first seat (1-based) held by someone else; nothing is written in that case.
+    private static final RedisScript<List<Object>> ACQUIRE_ALL_SCRIPT = replyScript(
+            "local n = #KEYS / 2 " +
+            "for i = 1, n do " +
+            "  local current = redis.call('GET', KEYS[i]) " +
+            "  if current and current ~= ARGV[1] then return {i, current} end " +
+            "end " +
+            "for i = 1, n do " +
+            "  redis.call('SET', KEYS[i], ARGV[1], 'PX', ARGV[2]) " +
+            "  if KEYS[n + i] ~= '' then redis.call('ZADD', KEYS[n + i], ARGV[3], ARGV[3 + i]) end " +
+            "end " +
+            "return {0, ARGV[1]}");
+
+    // Same KEYS and ARGV as ACQUIRE_ALL_SCRIPT. Replies {0, owner} once every lock is extended,
+    // otherwise {i, holder} for the first seat not held by the owner ('' if not held at all).
+    private static final RedisScript<List<Object>> EXTEND_ALL_SCRIPT = replyScript(
+            "local n = #KEYS / 2 " +
+            "for i = 1, n do " +
+            "  local current = redis.call('GET', KEYS[i]) " +
+            "  if current ~= ARGV[1] then return {i, current or ''} end " +
+            "end " +
+            "for i = 1, n do " +
+            "  redis.call('PEXPIRE', KEYS[i], ARGV[2]) " +
+            "  if KEYS[n + i] ~= '' then redis.call('ZADD', KEYS[n + i], ARGV[3], ARGV[3 + i]) end " +
+            "end " +
+            "return {0, ARGV[1]}");
+
+    // KEYS[1] = lock key, KEYS[2] = class set or "", ARGV = seat number, now millis. Called when a lock
+    // key expired: if the seat was locked again meanwhile, nothing is touched and 0 is returned;
+    // otherwise the set entry is dropped only if its score says it has expired too, and 1 is returned.
+    private static final RedisScript<Long> CLEAR_EXPIRED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "if KEYS[2] ~= '' then " +
+            "  local score = redis.call('ZSCORE', KEYS[2], ARGV[1]) " +
+            "  if score and tonumber(score) <= tonumber(ARGV[2]) then redis.call('ZREM', KEYS[2], ARGV[1]) end " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    // KEYS = class sets, ARGV[1] = now millis. Drops expired members, returns the remaining sizes.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Long>> COUNT_LOCKED_SCRIPT = new DefaultRedisScript(
+            "local counts = {} " +
+            "for i, key in ipairs(KEYS) do " +
+            "  redis.call('ZREMRANGEBYSCORE', key, '-inf', ARGV[1]) " +
+            "  counts[i] = redis.call('ZCARD', key) " +
+            "end " +
+            "return counts",
+            List.class);
+
     @CircuitBreaker(name = "redisLock", fallbackMethod = "fallbackLock")
-    public boolean acquireSeatLock(Long flightId, String seatNumber, String userId) {
-        String lockKey = generateLockKey(flightId, seatNumber);
+    public SeatLockResult tryAcquireSeatLock(Long flightId, String seatNumber, String userId) {
+        long expiresAt = System.currentTimeMillis() + getLockDurationMillis();
 
-        Boolean success = redisTemplate.opsForValue()
-                .setIfAbsent(lockKey, userId, Duration.ofMinutes(LOCK_DURATION_MINUTES));
+        SeatLockResult result = runSingleSeatScript(ACQUIRE_SCRIPT, SeatLockStatus.ACQUIRED, flightId, seatNumber,
+                userId, String.valueOf(getLockDurationMillis()), String.valueOf(expiresAt), seatNumber);
 
-        if (Boolean.TRUE.equals(success)) {
+        if (result.isSuccess()) {
             log.info("Lock acquired: Flight {} Seat {} by User {}", flightId, seatNumber, userId);
-            return true;
+            seatInventoryService.onSeatLocked(flightId, seatNumber, expiresAt);
         } else {
-            Object currentOwner = redisTemplate.opsForValue().get(lockKey);
-            log.warn("Seat {} already locked by user: {}", seatNumber, currentOwner);
-            throw new SeatAlreadyLockedException(seatNumber); // Business exception
+            log.debug("Seat {} already locked by user: {}", seatNumber, result.getOwner());
         }
+        return result;
     }
 
-    public boolean fallbackLock(Long flightId, String seatNumber, String userId, Throwable t) {
+    public SeatLockResult fallbackLock(Long flightId, String seatNumber, String userId, Throwable t) {
         log.error("Redis Down! Cannot acquire lock for Seat {}. Error: {}", seatNumber, t.getMessage());
         throw new RuntimeException("Seat reservation temporarily unavailable. Please try again.");
     }
 
-    @CircuitBreaker(name = "redisLock", fallbackMethod = "fallbackIsLocked")
-    public boolean isSeatLocked(Long flightId, String seatNumber) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(generateLockKey(flightId, seatNumber)));
+    /**
+     * Pushes the TTL of a lock the user already holds back to a full lock duration.
+     */
+    @CircuitBreaker(name = "redisLock", fallbackMethod = "fallbackExtend")
+    public SeatLockResult extendSeatLock(Long flightId, String seatNumber, String userId) {
+        long expiresAt = System.currentTimeMillis() + getLockDurationMillis();
+
+        SeatLockResult result = runSingleSeatScript(EXTEND_SCRIPT, SeatLockStatus.EXTENDED, flightId, seatNumber,
+                userId, String.valueOf(getLockDurationMillis()), String.valueOf(expiresAt), seatNumber);
+
+        if (result.isSuccess()) {
+            seatInventoryService.onSeatLocked(flightId, seatNumber, expiresAt);
+        }
+        return result;
     }
 
-    public boolean fallbackIsLocked(Long flightId, String seatNumber, Throwable t) {
-        log.warn("Redis Down! Assuming Seat {} is NOT locked to allow viewing.", seatNumber);
-        return false;
+    public SeatLockResult fallbackExtend(Long flightId, String seatNumber, String userId, Throwable t) {
+        log.error("Redis Down! Cannot extend lock for Seat {}. Error: {}", seatNumber, t.getMessage());
+        throw new RuntimeException("Seat reservation temporarily unavailable. Please try again.");
     }
 
-    public void releaseSeatLock(Long flightId, String seatNumber, String userId) {
-        String lockKey = generateLockKey(flightId, seatNumber);
+    /**
+     * All-or-nothing lock of several seats in one Lua round trip: either every seat
+     * is free (or already the user's) and all are locked with the same TTL, or nothing is written.
+     */
+    @CircuitBreaker(name = "redisLock", fallbackMethod = "fallbackLockBatch")
+    public SeatLockResult tryAcquireSeatLocks(Long flightId, List<String> seatNumbers, String userId) {
+        List<String> distinctSeats = List.copyOf(new LinkedHashSet<>(seatNumbers));
+        long expiresAt = System.currentTimeMillis() + getLockDurationMillis();
 
-        Object currentOwner = redisTemplate.opsForValue().get(lockKey);
+        SeatLockResult result = runBatchScript(ACQUIRE_ALL_SCRIPT, SeatLockStatus.ACQUIRED, flightId, distinctSeats, userId, expiresAt);
 
-        if (currentOwner == null) {
-            log.info("Lock already expired or released idempotently for Flight {} Seat {}", flightId, seatNumber);
-            return;
+        if (result.isSuccess()) {
+            distinctSeats.forEach(seatNumber -> seatInventoryService.onSeatLocked(flightId, seatNumber, expiresAt));
+            log.info("Batch lock acquired: Flight {} Seats {} by User {}", flightId, distinctSeats, userId);
+        } else {
+            log.debug("Batch lock rejected: Flight {} Seat {} held by {}. Requested {}",
+                    flightId, result.getSeatNumber(), result.getOwner(), distinctSeats);
         }
+        return result;
+    }
+
+    public SeatLockResult fallbackLockBatch(Long flightId, List<String> seatNumbers, String userId, Throwable t) {
+        log.error("Redis Down! Cannot acquire batch lock for Seats {}. Error: {}", seatNumbers, t.getMessage());
+        throw new RuntimeException("Seat reservation temporarily unavailable. Please try again.");
+    }
+
+    /**
+     * Heartbeat for all seats of a booking in one atomic script: every lock must still be
+     * held by the user, otherwise nothing is extended and the first lost seat is reported.
+     */
+    @CircuitBreaker(name = "redisLock", fallbackMethod = "fallbackExtendBatch")
+    public SeatLockResult extendSeatLocks(Long flightId, List<String> seatNumbers, String userId) {
+        List<String> distinctSeats = List.copyOf(new LinkedHashSet<>(seatNumbers));
+        long expiresAt = System.currentTimeMillis() + getLockDurationMillis();
 
-        if (userId.equals(currentOwner.toString())) {
-            redisTemplate.delete(lockKey);
-            log.info("Lock safely released: Flight {} Seat {} by User {}", flightId, seatNumber, userId);
+        SeatLockResult result = runBatchScript(EXTEND_ALL_SCRIPT, SeatLockStatus.EXTENDED, flightId, distinctSeats, userId, expiresAt);
+
+        if (result.isSuccess()) {
+            distinctSeats.forEach(seatNumber -> seatInventoryService.onSeatLocked(flightId, seatNumber, expiresAt));
         } else {
-            log.warn("SECURITY: User {} attempted to release lock owned by {}! Flight {} Seat {}",
-                    userId, currentOwner, flightId, seatNumber);
+            log.info("Lock extension rejected: Flight {} Seat {} is {} for User {}",
+                    flightId, result.getSeatNumber(), result.getStatus(), userId);
+        }
+        return result;
+    }
+
+    public SeatLockResult fallbackExtendBatch(Long flightId, List<String> seatNumbers, String userId, Throwable t) {
+        log.error("Redis Down! Cannot extend locks for Seats {}. Error: {}", seatNumbers, t.getMessage());
+        throw new RuntimeException("Seat reservation temporarily unavailable. Please try again.");
+    }
+
+    /**
+     * Lock state of many seats in a single MGET round trip.
+     * Returns the subset of {@code seatNumbers} currently locked, or empty if Redis is unavailable.
+     */
+    @CircuitBreaker(name = "redisLock", fallbackMethod = "fallbackLockedSeats")
+    public Optional<Set<String>> getLockedSeats(Long flightId, List<String> seatNumbers) {
+        if (seatNumbers.isEmpty()) {
+            return Optional.of(Collections.emptySet());
+        }
+
+        List<String> lockKeys = seatNumbers.stream()
+                .map(seatNumber -> generateLockKey(flightId, seatNumber))
+                .toList();
+
+        List<String> owners = redisTemplate.opsForValue().multiGet(lockKeys);
+        if (owners == null) {
+            return Optional.empty();
+        }
+
+        Set<String> lockedSeats = new HashSet<>();
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            if (owners.get(i) != null) {
+                lockedSeats.add(seatNumbers.get(i));
+            }
+        }
+        return Optional.of(lockedSeats);
+    }
+
+    public Optional<Set<String>> fallbackLockedSeats(Long flightId, List<String> seatNumbers, Throwable t) {
+        log.warn("Redis Down! Serving Flight {} seat map with locally known locks only. Error: {}", flightId, t.getMessage());
+        return Optional.empty();
+    }
+
+    /**
+     * The subset of {@code seatNumbers} not locked by {@code userId} (expired, or held by someone
+     * else), in one MGET round trip. Unlike the seat map overlay this has no lenient fallback:
+     * seats must not be booked on locks that cannot be verified.
+     */
+    @CircuitBreaker(name = "redisLock", fallbackMethod = "fallbackSeatsNotHeld")
+    public List<String> seatsNotHeldBy(Long flightId, List<String> seatNumbers, String userId) {
+        if (seatNumbers.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> owners = redisTemplate.opsForValue().multiGet(seatNumbers.stream()
+                .map(seatNumber -> generateLockKey(flightId, seatNumber))
+                .toList());
+        if (owners == null) {
+            throw new IllegalStateException("Redis returned no result for seat lock lookup");
+        }
+
+        List<String> notHeld = new ArrayList<>();
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            if (!userId.equals(owners.get(i))) {
+                notHeld.add(seatNumbers.get(i));
+            }
+        }
+        return notHeld;
+    }
+
+    public List<String> fallbackSeatsNotHeld(Long flightId, List<String> seatNumbers, String userId, Throwable t) {
+        log.error("Redis Down! Cannot verify locks for Seats {}. Error: {}", seatNumbers, t.getMessage());
+        throw new RuntimeException("Seat reservation temporarily unavailable. Please try again.");
+    }
+
+    /**
+     * Seats currently locked per class, in one script call. Entries whose lock has expired are
+     * pruned before counting, so a lock that lapsed without a release stops counting on the next read.
+     */
+    @CircuitBreaker(name = "redisLock", fallbackMethod = "fallbackLockedCounts")
+    public Optional<Map<SeatType, Integer>> countLockedSeats(Long flightId) {
+        SeatType[] seatTypes = SeatType.values();
+        List<String> keys = Arrays.stream(seatTypes)
+                .map(seatType -> lockedSeatsKey(flightId, seatType))
+                .toList();
+
+        List<Long> counts = redisTemplate.execute(COUNT_LOCKED_SCRIPT, keys, String.valueOf(System.currentTimeMillis()));
+        if (counts == null) {
+            return Optional.empty();
+        }
+
+        Map<SeatType, Integer> lockedByType = new EnumMap<>(SeatType.class);
+        for (int i = 0; i < seatTypes.length; i++) {
+            lockedByType.put(seatTypes[i], counts.get(i).intValue());
+        }
+        return Optional.of(lockedByType);
+    }
+
+    public Optional<Map<SeatType, Integer>> fallbackLockedCounts(Long flightId, Throwable t) {
+        log.warn("Redis Down! Reporting Flight {} availability without locked seats. Error: {}", flightId, t.getMessage());
+        return Optional.empty();
+    }
+
+    public long getLockDurationMillis() {
+        return Duration.ofMinutes(LOCK_DURATION_MINUTES).toMillis();
+    }
+
+    /**
+     * Idempotent: releasing an expired or already released lock reports NOT_HELD.
+     * A lock held by someone else is left untouched.
+     */
+    public SeatLockResult releaseSeatLock(Long flightId, String seatNumber, String userId) {
+        SeatLockResult result = runSingleSeatScript(RELEASE_SCRIPT, SeatLockStatus.RELEASED, flightId, seatNumber,
+                userId, seatNumber);
+
+        switch (result.getStatus()) {
+            case RELEASED -> {
+                seatInventoryService.onSeatReleased(flightId, seatNumber);
+                log.info("Lock safely released: Flight {} Seat {} by User {}", flightId, seatNumber, userId);
+            }
+            case NOT_HELD -> {
+                seatInventoryService.onSeatReleased(flightId, seatNumber);
+                log.info("Lock already expired or released idempotently for Flight {} Seat {}", flightId, seatNumber);
+            }
+            default -> log.warn("SECURITY: User {} attempted to release lock owned by {}! Flight {} Seat {}",
+                    userId, result.getOwner(), flightId, seatNumber);
+        }
+        return result;
+    }
+
+    /**
+     * Compensation path of the booking saga: releases all of a user's locks on a flight in one
+     * script. Idempotent; seats that expired or were re-locked by someone else are left alone.
+     */
+    public int releaseSeatLocks(Long flightId, List<String> seatNumbers, String userId) {
+        List<String> distinctSeats = List.copyOf(new LinkedHashSet<>(seatNumbers));
+
+        List<String> keys = new ArrayList<>(distinctSeats.size() * 2);
+        distinctSeats.forEach(seatNumber -> keys.add(generateLockKey(flightId, seatNumber)));
+        distinctSeats.forEach(seatNumber -> keys.add(lockedSeatsKeyOf(flightId, seatNumber)));
+
+        List<String> args = new ArrayList<>(distinctSeats.size() + 1);
+        args.add(userId);
+        args.addAll(distinctSeats);
+
+        Long released = redisTemplate.execute(RELEASE_ALL_SCRIPT, keys, args.toArray(new Object[0]));
+
+        distinctSeats.forEach(seatNumber -> seatInventoryService.onSeatReleased(flightId, seatNumber));
+        log.info("Batch release: Flight {} released {} of Seats {} for User {}", flightId, released, distinctSeats, userId);
+        return released == null ? 0 : released.intValue();
+    }
+
+    /**
+     * Sorted set of the seats of one class currently locked on a flight, scored by lock expiry.
+     */
+    public static String lockedSeatsKey(Long flightId, SeatType seatType) {
+        return LOCKED_SEATS_PREFIX + flightId + "::" + seatType;
+    }
+
+    private String lockedSeatsKeyOf(Long flightId, String seatNumber) {
+        SeatType seatType = SeatLayout.seatTypeOf(seatNumber);
+        return seatType == null ? "" : lockedSeatsKey(flightId, seatType);
+    }
+
+    /**
+     * Cleanup after a lock key expired. Returns false if the seat has been locked again since,
+     * in which case the caller must not treat the seat as released.
+     */
+    boolean clearExpiredLock(Long flightId, String seatNumber) {
+        Long cleared = redisTemplate.execute(CLEAR_EXPIRED_SCRIPT,
+                List.of(generateLockKey(flightId, seatNumber), lockedSeatsKeyOf(flightId, seatNumber)),
+                seatNumber, String.valueOf(System.currentTimeMillis()));
+        return cleared != null && cleared == 1;
+    }
+
+    private SeatLockResult runSingleSeatScript(RedisScript<List<Object>> script, SeatLockStatus successStatus,
+                                               Long flightId, String seatNumber, Object... args) {
+        List<Object> reply = redisTemplate.execute(script,
+                List.of(generateLockKey(flightId, seatNumber), lockedSeatsKeyOf(flightId, seatNumber)), args);
+        if (reply == null || reply.size() != 2) {
+            throw new IllegalStateException("Redis returned no result for seat lock script");
+        }
+
+        long code = (Long) reply.get(0);
+        String owner = (String) reply.get(1);
+        if (code == 1) {
+            return new SeatLockResult(successStatus, seatNumber, owner);
         }
+        return code == 0
+                ? new SeatLockResult(SeatLockStatus.HELD_BY_OTHER, seatNumber, owner)
+                : new SeatLockResult(SeatLockStatus.NOT_HELD, seatNumber, null);
+    }
+
+    private SeatLockResult runBatchScript(RedisScript<List<Object>> script, SeatLockStatus successStatus,
+                                          Long flightId, List<String> distinctSeats, String userId, long expiresAt) {
+        List<String> keys = new ArrayList<>(distinctSeats.size() * 2);
+        distinctSeats.forEach(seatNumber -> keys.add(generateLockKey(flightId, seatNumber)));
+        distinctSeats.forEach(seatNumber -> keys.add(lockedSeatsKeyOf(flightId, seatNumber)));
+
+        List<String> args = new ArrayList<>(distinctSeats.size() + 3);
+        args.add(userId);
+        args.add(String.valueOf(getLockDurationMillis()));
+        args.add(String.valueOf(expiresAt));
+        args.addAll(distinctSeats);
+
+        List<Object> reply = redisTemplate.execute(script, keys, args.toArray(new Object[0]));
+        if (reply == null || reply.size() != 2) {
+            throw new IllegalStateException("Redis returned no result for batch lock script");
+        }
+
+        int failedIndex = ((Long) reply.get(0)).intValue();
+        if (failedIndex == 0) {
+            return new SeatLockResult(successStatus, null, userId);
+        }
+
+        String failedSeat = distinctSeats.get(failedIndex - 1);
+        String holder = (String) reply.get(1);
+        return holder.isEmpty()
+                ? new SeatLockResult(SeatLockStatus.NOT_HELD, failedSeat, null)
+                : new SeatLockResult(SeatLockStatus.HELD_BY_OTHER, failedSeat, holder);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Object>> replyScript(String source) {
+        return new DefaultRedisScript(source, List.class);
     }
 
     private String generateLockKey(Long flightId, String seatNumber) {
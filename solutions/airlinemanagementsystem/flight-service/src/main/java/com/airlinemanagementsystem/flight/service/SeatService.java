@@ -1,15 +1,34 @@
 package com.airlinemanagementsystem.flight.service;
 
 import com.airlinemanagementsystem.flight.dto.SeatResponseDTO;
+import com.airlinemanagementsystem.flight.entity.Flight;
 import com.airlinemanagementsystem.flight.entity.Seat;
+import com.airlinemanagementsystem.flight.entity.SeatLayout;
 import com.airlinemanagementsystem.flight.entity.SeatStatus;
+import com.airlinemanagementsystem.flight.entity.SeatType;
+import com.airlinemanagementsystem.flight.exception.BusinessException;
+import com.airlinemanagementsystem.flight.exception.FlightNotFoundException;
+import com.airlinemanagementsystem.flight.inventory.FlightSeatInventory;
+import com.airlinemanagementsystem.flight.inventory.SeatInventoryService;
+import com.airlinemanagementsystem.flight.repository.FlightRepository;
+import com.airlinemanagementsystem.flight.repository.SeatBatchRepository;
 import com.airlinemanagementsystem.flight.repository.SeatRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -18,45 +37,178 @@ import java.util.stream.Collectors;
 public class SeatService {
 
     private final SeatRepository seatRepository;
+    private final SeatBatchRepository seatBatchRepository;
     private final SeatLockService seatLockService;
+    private final SeatInventoryService seatInventoryService;
+    private final FlightRepository flightRepository;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final FlightEventProducer flightEventProducer;
 
+    @Value("${flight-service.seats.lazy-materialisation:true}")
+    private boolean lazyMaterialisation;
+
+    /**
+     * Served from the in-memory seat inventory; MySQL is only hit when the
+     * flight's inventory is cold or past its TTL. Lock state of the AVAILABLE
+     * seats is refreshed from Redis in one round trip, whatever the capacity.
+     */
     @Transactional(readOnly = true)
     public List<SeatResponseDTO> getSeatsByFlight(Long flightId) {
-        List<Seat> seats = seatRepository.findByFlightId(flightId);
-        return seats.stream()
-                .map(seat -> {
-                    SeatStatus status = seat.getStatus();
-                    if (status == SeatStatus.AVAILABLE) {
-                        if (seatLockService.isSeatLocked(flightId, seat.getSeatNumber())) {
-                            status = SeatStatus.LOCKED;
-                        }
-                    }
-
-                    return SeatResponseDTO.builder()
-                            .seatId(seat.getSeatId())
-                            .seatNumber(seat.getSeatNumber())
-                            .seatType(seat.getSeatType())
-                            .status(status)
-                            .price(seat.getPrice())
-                            .build();
-                })
-                .collect(Collectors.toList());
+        FlightSeatInventory inventory = seatInventoryService.getInventory(flightId);
+        long now = System.currentTimeMillis();
+
+        seatLockService.getLockedSeats(flightId, inventory.availableSeatNumbers())
+                .ifPresent(lockedSeats -> inventory.syncLocks(lockedSeats, now + seatLockService.getLockDurationMillis()));
+
+        return inventory.toSeatMap(now);
+    }
+
+    /**
+     * Writes the full seat map of a newly saved flight through the JDBC batch path.
+     * In lazy mode nothing is written: the seat map is derived from the aircraft layout
+     * and a row is only inserted when a seat is booked.
+     */
+    @Transactional
+    public void materialiseSeats(Flight flight) {
+        if (lazyMaterialisation) {
+            log.debug("Lazy seat materialisation: skipping seat rows for Flight {}", flight.getFlightNumber());
+            return;
+        }
+
+        List<Seat> seatPlan = flight.buildSeatPlan();
+        seatBatchRepository.insertAll(flight.getId(), seatPlan);
+        log.info("Materialised {} seats for Flight {}", seatPlan.size(), flight.getFlightNumber());
     }
 
     @Transactional
     public void confirmSeatBooking(Long flightId, String seatNumber, String userId) {
-        log.info("Confirming permanent booking: Flight {} Seat {} for User {}", flightId, seatNumber, userId);
+        confirmSeatBookings(flightId, List.of(seatNumber), userId);
+    }
 
-        Seat seat = seatRepository.findByFlightIdAndSeatNumber(flightId, seatNumber)
-                .orElseThrow(() -> new RuntimeException("Seat not found: " + seatNumber));
+    /**
+     * Confirms all seats of a booking in one transaction: one SELECT for the existing rows,
+     * one MGET to check the user still holds the locks of the seats not yet booked, one bulk
+     * UPDATE for those, one JDBC batch for lazily materialised seats, then one script to release
+     * the locks once the transaction has committed. Seats the same user already BOOKED are
+     * skipped, so redelivered confirmations are harmless. Fails with a {@link BusinessException}
+     * (409) naming the seats whose lock was lost or that another user booked; nothing is booked then.
+     * Returns the number of seats the user holds as BOOKED, i.e. all of them.
+     */
+    @Transactional
+    public int confirmSeatBookings(Long flightId, List<String> seatNumbers, String userId) {
+        List<String> distinctSeats = List.copyOf(new LinkedHashSet<>(seatNumbers));
+        log.info("Confirming permanent booking: Flight {} Seats {} for User {}", flightId, distinctSeats, userId);
 
-        if (seat.getStatus() == SeatStatus.BOOKED) {
-            log.info("Seat {} is already permanently booked. Ignoring duplicate confirmation.", seatNumber);
-            return;
+        Map<String, Seat> existingSeats = seatRepository.findByFlightIdAndSeatNumberIn(flightId, distinctSeats).stream()
+                .collect(Collectors.toMap(Seat::getSeatNumber, Function.identity()));
+
+        Flight flight = null;
+        List<Seat> toUpdate = new ArrayList<>();
+        List<Seat> toInsert = new ArrayList<>();
+        List<String> toBook = new ArrayList<>();
+        List<String> notHeld = new ArrayList<>();
+
+        for (String seatNumber : distinctSeats) {
+            Seat seat = existingSeats.get(seatNumber);
+            if (seat == null) {
+                if (flight == null) {
+                    flight = flightRepository.findById(flightId).orElseThrow(() -> new FlightNotFoundException(flightId));
+                }
+                Seat newSeat = newSeatFromLayout(flight, seatNumber);
+                newSeat.setStatus(SeatStatus.BOOKED);
+                newSeat.setBookedBy(userId);
+                toInsert.add(newSeat);
+                toBook.add(seatNumber);
+            } else if (seat.getStatus() == SeatStatus.BOOKED) {
+                // Rows booked before booked_by was recorded have no owner and count as the user's
+                if (seat.getBookedBy() != null && !seat.getBookedBy().equals(userId)) {
+                    notHeld.add(seatNumber);
+                } else {
+                    log.info("Seat {} is already permanently booked. Ignoring duplicate confirmation.", seatNumber);
+                }
+            } else {
+                toUpdate.add(seat);
+                toBook.add(seatNumber);
+            }
+        }
+
+        // A lock that expired may have been taken, paid and confirmed by someone else meanwhile
+        notHeld.addAll(seatLockService.seatsNotHeldBy(flightId, toBook, userId));
+        if (!notHeld.isEmpty()) {
+            log.warn("Rejecting confirmation: Flight {} Seats {} are not held by User {}", flightId, notHeld, userId);
+            throw new BusinessException("Seats " + notHeld + " on flight " + flightId + " are no longer held by user " + userId);
         }
 
-        seat.setStatus(SeatStatus.BOOKED);
-        seatRepository.save(seat);
-        seatLockService.releaseSeatLock(flightId, seatNumber, userId);
+        if (toBook.isEmpty()) {
+            return distinctSeats.size();
+        }
+
+        if (!toUpdate.isEmpty()) {
+            List<String> updateSeatNumbers = toUpdate.stream().map(Seat::getSeatNumber).toList();
+            int updated = seatRepository.updateStatus(flightId, updateSeatNumbers, SeatStatus.BOOKED, userId);
+            if (updated != toUpdate.size()) {
+                // Another confirmation booked some of these seats since they were read
+                throw new ObjectOptimisticLockingFailureException(Seat.class, flightId);
+            }
+        }
+        if (!toInsert.isEmpty()) {
+            seatBatchRepository.insertAll(flightId, toInsert); // Duplicate first bookings hit uk_flight_seat
+        }
+
+        List<Seat> newlyBooked = new ArrayList<>(toUpdate);
+        newlyBooked.addAll(toInsert);
+
+        seatAvailabilityService.onSeatsBooked(flightId, newlyBooked.stream()
+                .collect(Collectors.groupingBy(Seat::getSeatType, () -> new EnumMap<>(SeatType.class), Collectors.counting())));
+        Optional.ofNullable(flight).or(() -> flightRepository.findById(flightId))
+                .ifPresent(f -> flightEventProducer.sendFlightUpdateEvent(f, "FLIGHT_AVAILABILITY_CHANGED"));
+        newlyBooked.forEach(seat -> seatInventoryService.onSeatBooked(flightId, seat.getSeatNumber()));
+        // Released only after commit: a rolled-back confirmation keeps the locks, so it can be retried
+        afterCommit(() -> {
+            try {
+                seatLockService.releaseSeatLocks(flightId, distinctSeats, userId);
+            } catch (Exception e) {
+                log.warn("Booked Flight {} Seats {} but could not release their locks, they expire by TTL: {}",
+                        flightId, distinctSeats, e.getMessage());
+            }
+        });
+
+        return distinctSeats.size();
+    }
+
+    /**
+     * Seat rows of lazily materialised flights do not exist until booked; build the
+     * row from the layout, rejecting seat numbers the aircraft does not have.
+     * Concurrent first bookings of the same seat are caught by uk_flight_seat.
+     */
+    private Seat newSeatFromLayout(Flight flight, String seatNumber) {
+        int ordinal = SeatLayout.ordinalOf(seatNumber);
+        int capacity = flight.getAircraft() == null ? 0 : flight.getAircraft().getTotalCapacity();
+
+        if (ordinal < 0 || ordinal >= capacity || flight.getBasePrice() == null
+                || !SeatLayout.seatNumberAt(ordinal).equals(seatNumber)) {
+            throw new RuntimeException("Seat not found: " + seatNumber);
+        }
+
+        return Seat.builder()
+                .flight(flight)
+                .seatNumber(seatNumber)
+                .seatType(SeatLayout.seatTypeAt(ordinal))
+                .status(SeatStatus.AVAILABLE)
+                .price(SeatLayout.priceAt(ordinal, flight.getBasePrice()))
+                .build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.airlinemanagementsystem.flight.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatLayoutTest {
+
+    @Test
+    void ordinalOfInvertsSeatNumberAt() {
+        for (int ordinal = 0; ordinal < 500; ordinal++) {
+            assertThat(SeatLayout.ordinalOf(SeatLayout.seatNumberAt(ordinal))).isEqualTo(ordinal);
+        }
+    }
+
+    @Test
+    void cabinBoundariesFollowTheLayout() {
+        assertThat(SeatLayout.seatNumberAt(9)).isEqualTo("F10");
+        assertThat(SeatLayout.seatNumberAt(10)).isEqualTo("B11");
+        assertThat(SeatLayout.seatNumberAt(29)).isEqualTo("B30");
+        assertThat(SeatLayout.seatNumberAt(30)).isEqualTo("E31");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"F", "F0", "F01", "F+1", "F-1", "F1a", "B1", "E11", "F11", "X5", "E99999999999"})
+    void ordinalOfRejectsNumbersOutsideTheLayout(String seatNumber) {
+        assertThat(SeatLayout.ordinalOf(seatNumber)).isEqualTo(-1);
+        assertThat(SeatLayout.seatTypeOf(seatNumber)).isNull();
+    }
+
+    @Test
+    void seatTypeOfReadsTheCabin() {
+        assertThat(SeatLayout.seatTypeOf("F1")).isEqualTo(SeatType.FIRST);
+        assertThat(SeatLayout.seatTypeOf("B11")).isEqualTo(SeatType.BUSINESS);
+        assertThat(SeatLayout.seatTypeOf("E31")).isEqualTo(SeatType.ECONOMY);
+    }
+
+    @Test
+    void seatsOfTypeSplitsTheCapacity() {
+        assertThat(SeatLayout.seatsOfType(SeatType.FIRST, 5)).isEqualTo(5);
+        assertThat(SeatLayout.seatsOfType(SeatType.BUSINESS, 5)).isZero();
+
+        assertThat(SeatLayout.seatsOfType(SeatType.FIRST, 25)).isEqualTo(10);
+        assertThat(SeatLayout.seatsOfType(SeatType.BUSINESS, 25)).isEqualTo(15);
+        assertThat(SeatLayout.seatsOfType(SeatType.ECONOMY, 25)).isZero();
+
+        assertThat(SeatLayout.seatsOfType(SeatType.BUSINESS, 180)).isEqualTo(20);
+        assertThat(SeatLayout.seatsOfType(SeatType.ECONOMY, 180)).isEqualTo(150);
+    }
+}
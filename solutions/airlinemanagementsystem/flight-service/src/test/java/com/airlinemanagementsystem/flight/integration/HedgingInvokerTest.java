@@ -0,0 +1,136 @@
+package com.airlinemanagementsystem.flight.integration;
+
+import com.airlinemanagementsystem.flight.entity.Flight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingInvokerTest {
+
+    private static final String PROVIDER = "FastAir";
+    private static final LocalDate DATE = LocalDate.of(2026, 5, 1);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private ProviderLatencyTracker latencyTracker;
+    private HedgingInvoker hedgingInvoker;
+
+    @BeforeEach
+    void setUp() {
+        latencyTracker = new ProviderLatencyTracker();
+        ReflectionTestUtils.setField(latencyTracker, "windowSize", 16);
+        ReflectionTestUtils.setField(latencyTracker, "minSamples", 1);
+
+        hedgingInvoker = new HedgingInvoker(latencyTracker);
+        ReflectionTestUtils.setField(hedgingInvoker, "hedgingEnabled", true);
+        ReflectionTestUtils.setField(hedgingInvoker, "hedgePercentile", 0.95);
+        ReflectionTestUtils.setField(hedgingInvoker, "minHedgeDelay", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(hedgingInvoker, "budgetRatio", 0.1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedgingInvoker.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void withoutLatencyHistoryTheProviderIsCalledOnce() {
+        List<Flight> flights = List.of(new Flight());
+        ScriptedAdapter adapter = new ScriptedAdapter(() -> flights);
+
+        assertThat(hedgingInvoker.invoke(adapter, "DEL", "BOM", DATE, executor).join()).isSameAs(flights);
+        assertThat(adapter.calls).hasValue(1);
+    }
+
+    @Test
+    void failingHedgeDoesNotBeatTheSlowerAnswer() {
+        latencyTracker.record(PROVIDER, 20);
+        List<Flight> flights = List.of(new Flight());
+        ScriptedAdapter adapter = new ScriptedAdapter(
+                () -> {
+                    sleep(300);
+                    return flights;
+                },
+                () -> {
+                    throw new IllegalStateException("backup failed");
+                });
+
+        CompletableFuture<List<Flight>> result = hedgingInvoker.invoke(adapter, "DEL", "BOM", DATE, executor);
+
+        assertThat(result.join()).isSameAs(flights);
+        assertThat(adapter.calls).hasValue(2);
+    }
+
+    @Test
+    void failsOnlyOnceEveryAttemptHasFailed() {
+        latencyTracker.record(PROVIDER, 20);
+        ScriptedAdapter adapter = new ScriptedAdapter(
+                () -> {
+                    sleep(300);
+                    throw new IllegalStateException("primary failed");
+                },
+                () -> {
+                    throw new IllegalStateException("backup failed");
+                });
+
+        CompletableFuture<List<Flight>> result = hedgingInvoker.invoke(adapter, "DEL", "BOM", DATE, executor);
+
+        sleep(100);
+        assertThat(adapter.calls).hasValue(2);
+        assertThat(result).isNotDone();
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("primary failed");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Answers the n-th call with the n-th script; later calls reuse the last one.
+     */
+    private static final class ScriptedAdapter implements ExternalAirlineAdapter {
+        private final List<Script> scripts;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private ScriptedAdapter(Script... scripts) {
+            this.scripts = List.of(scripts);
+        }
+
+        @Override
+        public String getProviderName() {
+            return PROVIDER;
+        }
+
+        @Override
+        public List<Flight> searchFlights(String source, String destination, LocalDate date) {
+            int call = calls.getAndIncrement();
+            return scripts.get(Math.min(call, scripts.size() - 1)).run();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Script {
+        List<Flight> run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.airlinemanagementsystem.flight.integration;
+
+import com.airlinemanagementsystem.flight.config.AggregatorCacheProperties;
+import com.airlinemanagementsystem.flight.entity.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderResultCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 5, 1);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private AggregatorCacheProperties properties;
+    private ProviderResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AggregatorCacheProperties();
+        properties.setDefaultTtl(Duration.ofMinutes(1));
+        cache = new ProviderResultCache(properties);
+        cache.init();
+    }
+
+    @Test
+    void okAnswerIsServedFromCacheWithinItsTtl() {
+        get(() -> CompletableFuture.completedFuture(ProviderOutcome.ok("FastAir", 50, List.of(new Flight())))).join();
+
+        ProviderOutcome second = get(this::unexpectedLoad).join();
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getResult().getStatus()).isEqualTo(ProviderStatus.OK);
+        assertThat(second.getResult().isCached()).isTrue();
+        assertThat(second.getFlights()).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ProviderStatus.class, names = "OK", mode = EnumSource.Mode.EXCLUDE)
+    void unsuccessfulAnswersAreNeverCached(ProviderStatus status) {
+        get(() -> CompletableFuture.completedFuture(ProviderOutcome.omitted("FastAir", status, 5, "down"))).join();
+        get(() -> CompletableFuture.completedFuture(ProviderOutcome.ok("FastAir", 50, List.of()))).join();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamCall() {
+        CompletableFuture<ProviderOutcome> upstream = new CompletableFuture<>();
+
+        CompletableFuture<ProviderOutcome> first = get(() -> upstream);
+        CompletableFuture<ProviderOutcome> second = get(() -> upstream);
+        upstream.complete(ProviderOutcome.ok("FastAir", 50, List.of()));
+
+        assertThat(loads).hasValue(1);
+        assertThat(first.join()).isSameAs(second.join());
+    }
+
+    @Test
+    void staleAnswerIsServedWhileOneRefreshRuns() {
+        properties.setDefaultTtl(Duration.ZERO);
+        get(() -> CompletableFuture.completedFuture(ProviderOutcome.ok("FastAir", 50, List.of()))).join();
+
+        CompletableFuture<ProviderOutcome> refresh = new CompletableFuture<>();
+        ProviderOutcome stale = get(() -> refresh).join();
+
+        assertThat(stale.getResult().isStale()).isTrue();
+        assertThat(loads).hasValue(2);
+    }
+
+    private CompletableFuture<ProviderOutcome> get(Supplier<CompletableFuture<ProviderOutcome>> loader) {
+        return cache.get("FastAir", "del", "bom", DATE, () -> {
+            loads.incrementAndGet();
+            return loader.get();
+        });
+    }
+
+    private CompletableFuture<ProviderOutcome> unexpectedLoad() {
+        throw new AssertionError("provider should not be called");
+    }
+}
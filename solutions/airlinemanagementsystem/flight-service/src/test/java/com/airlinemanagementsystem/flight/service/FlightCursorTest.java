@@ -0,0 +1,40 @@
+package com.airlinemanagementsystem.flight.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        Instant departure = Instant.parse("2026-05-01T10:15:30.123Z");
+
+        String encoded = new FlightCursor(departure, 42L).encode();
+        FlightCursor decoded = FlightCursor.decode(encoded);
+
+        assertThat(encoded).doesNotContain("+", "/", "=");
+        assertThat(decoded.getDepartureTime()).isEqualTo(departure);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2026-05-01T10:15:30Z", "2026-05-01T10:15:30Z|", "yesterday|1", "2026-05-01T10:15:30Z|abc", "1|2|3"})
+    void rejectsMalformedPositions(String position) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> FlightCursor.decode(cursor)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsCursorsThatAreNotBase64() {
+        assertThatThrownBy(() -> FlightCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,210 @@
+package com.airlinemanagementsystem.flight.service;
+
+import com.airlinemanagementsystem.flight.dto.SeatLockResult;
+import com.airlinemanagementsystem.flight.dto.SeatLockStatus;
+import com.airlinemanagementsystem.flight.entity.SeatType;
+import com.airlinemanagementsystem.flight.inventory.SeatInventoryService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the seat lock Lua scripts against a real Redis: owner compare-and-set, all-or-nothing
+ * batches and the per-class locked sets they maintain.
+ */
+@Testcontainers
+class SeatLockServiceTest {
+
+    private static final Long FLIGHT_ID = 100L;
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private SeatLockService seatLockService;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        seatLockService = new SeatLockService(redisTemplate, mock(SeatInventoryService.class));
+    }
+
+    @Test
+    void acquireReportsTheHolderWhenTheSeatIsTaken() {
+        assertThat(seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F1", "alice").getStatus()).isEqualTo(SeatLockStatus.ACQUIRED);
+
+        SeatLockResult contended = seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F1", "bob");
+
+        assertThat(contended.getStatus()).isEqualTo(SeatLockStatus.HELD_BY_OTHER);
+        assertThat(contended.getOwner()).isEqualTo("alice");
+        assertThat(redisTemplate.opsForValue().get(lockKey("F1"))).isEqualTo("alice");
+    }
+
+    @Test
+    void ownerRelockRefreshesTheTtl() {
+        seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F1", "alice");
+        redisTemplate.expire(lockKey("F1"), Duration.ofSeconds(5));
+
+        assertThat(seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F1", "alice").getStatus()).isEqualTo(SeatLockStatus.ACQUIRED);
+        assertThat(redisTemplate.getExpire(lockKey("F1"), TimeUnit.SECONDS)).isGreaterThan(5);
+    }
+
+    @Test
+    void extendOnlySucceedsForTheHolder() {
+        assertThat(seatLockService.extendSeatLock(FLIGHT_ID, "F1", "alice").getStatus()).isEqualTo(SeatLockStatus.NOT_HELD);
+
+        seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F1", "alice");
+        redisTemplate.expire(lockKey("F1"), Duration.ofSeconds(5));
+
+        SeatLockResult byOther = seatLockService.extendSeatLock(FLIGHT_ID, "F1", "bob");
+        assertThat(byOther.getStatus()).isEqualTo(SeatLockStatus.HELD_BY_OTHER);
+        assertThat(byOther.getOwner()).isEqualTo("alice");
+        assertThat(redisTemplate.getExpire(lockKey("F1"), TimeUnit.SECONDS)).isLessThanOrEqualTo(5);
+
+        assertThat(seatLockService.extendSeatLock(FLIGHT_ID, "F1", "alice").getStatus()).isEqualTo(SeatLockStatus.EXTENDED);
+        assertThat(redisTemplate.getExpire(lockKey("F1"), TimeUnit.SECONDS)).isGreaterThan(5);
+    }
+
+    @Test
+    void releaseLeavesOtherUsersLocksAlone() {
+        seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F1", "alice");
+
+        SeatLockResult byOther = seatLockService.releaseSeatLock(FLIGHT_ID, "F1", "bob");
+        assertThat(byOther.getStatus()).isEqualTo(SeatLockStatus.HELD_BY_OTHER);
+        assertThat(redisTemplate.opsForValue().get(lockKey("F1"))).isEqualTo("alice");
+
+        assertThat(seatLockService.releaseSeatLock(FLIGHT_ID, "F1", "alice").getStatus()).isEqualTo(SeatLockStatus.RELEASED);
+        assertThat(redisTemplate.hasKey(lockKey("F1"))).isFalse();
+        assertThat(lockedScore(SeatType.FIRST, "F1")).isNull();
+
+        assertThat(seatLockService.releaseSeatLock(FLIGHT_ID, "F1", "alice").getStatus()).isEqualTo(SeatLockStatus.NOT_HELD);
+    }
+
+    @Test
+    void batchAcquireWritesNothingWhenOneSeatIsTaken() {
+        seatLockService.tryAcquireSeatLock(FLIGHT_ID, "B12", "bob");
+
+        SeatLockResult result = seatLockService.tryAcquireSeatLocks(FLIGHT_ID, List.of("F1", "B12", "E31"), "alice");
+
+        assertThat(result.getStatus()).isEqualTo(SeatLockStatus.HELD_BY_OTHER);
+        assertThat(result.getSeatNumber()).isEqualTo("B12");
+        assertThat(result.getOwner()).isEqualTo("bob");
+        assertThat(redisTemplate.hasKey(lockKey("F1"))).isFalse();
+        assertThat(redisTemplate.hasKey(lockKey("E31"))).isFalse();
+        assertThat(lockedScore(SeatType.FIRST, "F1")).isNull();
+    }
+
+    @Test
+    void batchAcquireLocksEverySeatAndCountsThemPerClass() {
+        SeatLockResult result = seatLockService.tryAcquireSeatLocks(FLIGHT_ID, List.of("F1", "F2", "B12", "F1"), "alice");
+
+        assertThat(result.getStatus()).isEqualTo(SeatLockStatus.ACQUIRED);
+        assertThat(seatLockService.countLockedSeats(FLIGHT_ID)).contains(Map.of(
+                SeatType.FIRST, 2,
+                SeatType.BUSINESS, 1,
+                SeatType.ECONOMY, 0));
+    }
+
+    @Test
+    void batchExtendTouchesNothingWhenOneLockWasLost() {
+        seatLockService.tryAcquireSeatLocks(FLIGHT_ID, List.of("F1", "F2"), "alice");
+        redisTemplate.delete(lockKey("F2"));
+        redisTemplate.expire(lockKey("F1"), Duration.ofSeconds(5));
+
+        SeatLockResult result = seatLockService.extendSeatLocks(FLIGHT_ID, List.of("F1", "F2"), "alice");
+
+        assertThat(result.getStatus()).isEqualTo(SeatLockStatus.NOT_HELD);
+        assertThat(result.getSeatNumber()).isEqualTo("F2");
+        assertThat(redisTemplate.getExpire(lockKey("F1"), TimeUnit.SECONDS)).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void batchReleaseSkipsSeatsHeldBySomeoneElse() {
+        seatLockService.tryAcquireSeatLocks(FLIGHT_ID, List.of("F1", "F2"), "alice");
+        seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F3", "bob");
+
+        int released = seatLockService.releaseSeatLocks(FLIGHT_ID, List.of("F1", "F2", "F3"), "alice");
+
+        assertThat(released).isEqualTo(2);
+        assertThat(redisTemplate.opsForValue().get(lockKey("F3"))).isEqualTo("bob");
+        assertThat(seatLockService.countLockedSeats(FLIGHT_ID).orElseThrow()).containsEntry(SeatType.FIRST, 1);
+    }
+
+    @Test
+    void seatsNotHeldByListsExpiredAndForeignLocks() {
+        seatLockService.tryAcquireSeatLocks(FLIGHT_ID, List.of("F1", "F2"), "alice");
+        seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F3", "bob");
+        redisTemplate.delete(lockKey("F2"));
+
+        assertThat(seatLockService.seatsNotHeldBy(FLIGHT_ID, List.of("F1", "F2", "F3"), "alice")).containsExactly("F2", "F3");
+        assertThat(seatLockService.seatsNotHeldBy(FLIGHT_ID, List.of("F1"), "alice")).isEmpty();
+    }
+
+    @Test
+    void countLockedSeatsDropsEntriesWhoseLockExpired() {
+        seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F1", "alice");
+        redisTemplate.opsForZSet().add(SeatLockService.lockedSeatsKey(FLIGHT_ID, SeatType.FIRST), "F2",
+                System.currentTimeMillis() - 1_000);
+
+        assertThat(seatLockService.countLockedSeats(FLIGHT_ID).orElseThrow()).containsEntry(SeatType.FIRST, 1);
+        assertThat(lockedScore(SeatType.FIRST, "F2")).isNull();
+    }
+
+    @Test
+    void clearExpiredLockKeepsTheEntryOfASeatLockedAgain() {
+        seatLockService.tryAcquireSeatLock(FLIGHT_ID, "F1", "alice");
+
+        assertThat(seatLockService.clearExpiredLock(FLIGHT_ID, "F1")).isFalse();
+        assertThat(lockedScore(SeatType.FIRST, "F1")).isNotNull();
+
+        redisTemplate.delete(lockKey("F1"));
+        redisTemplate.opsForZSet().add(SeatLockService.lockedSeatsKey(FLIGHT_ID, SeatType.FIRST), "F1",
+                System.currentTimeMillis() - 1);
+
+        assertThat(seatLockService.clearExpiredLock(FLIGHT_ID, "F1")).isTrue();
+        assertThat(lockedScore(SeatType.FIRST, "F1")).isNull();
+    }
+
+    private static String lockKey(String seatNumber) {
+        return SeatLockService.LOCK_PREFIX + FLIGHT_ID + "::" + seatNumber;
+    }
+
+    private static Double lockedScore(SeatType seatType, String seatNumber) {
+        return redisTemplate.opsForZSet().score(SeatLockService.lockedSeatsKey(FLIGHT_ID, seatType), seatNumber);
+    }
+}
@@ -30,6 +30,7 @@ public class FlightEventConsumer {
                     .arrivalTime(event.getArrivalTime())
                     .basePrice(event.getBasePrice())
                     .status(event.getStatus())
+                    .availableSeats(event.getAvailableSeats())
                     .build();
 
             searchRepository.save(document);
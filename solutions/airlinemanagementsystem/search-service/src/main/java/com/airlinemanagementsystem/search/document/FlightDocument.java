@@ -44,4 +44,7 @@ public class FlightDocument {
 
     @Field(type = FieldType.Keyword)
     private String status;
+
+    @Field(type = FieldType.Integer)
+    private Integer availableSeats;
 }
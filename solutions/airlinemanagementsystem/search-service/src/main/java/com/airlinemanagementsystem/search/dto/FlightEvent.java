@@ -19,6 +19,7 @@ public class FlightEvent {
     private Instant arrivalTime;
     private Double basePrice;
     private String status;
+    private Integer availableSeats;
     private String eventType;
     private Instant eventTimestamp;
 }